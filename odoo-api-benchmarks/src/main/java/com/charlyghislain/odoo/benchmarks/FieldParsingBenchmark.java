@@ -0,0 +1,98 @@
+package com.charlyghislain.odoo.benchmarks;
+
+import com.charlyghislain.odoo.client.OdooParserUtils;
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.fields.ModelFieldType;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import com.charlyghislain.odoo.stub.FieldsGetFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of fields_get responses, per number of fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldParsingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int fieldCount;
+
+    private List<Map<Object, Object>> fieldAttributes;
+    private String[] typeNames;
+    private OdooFieldType[] fieldTypes;
+    private String[] dateTimes;
+
+    @Setup
+    public void setup() {
+        FieldsGetFixtures fixtures = new FieldsGetFixtures(fieldCount);
+        fieldAttributes = new ArrayList<>(fieldCount);
+        typeNames = new String[fieldCount];
+        fieldTypes = new OdooFieldType[fieldCount];
+        dateTimes = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            Map<Object, Object> attributes = fixtures.createFieldAttributes("field_" + i);
+            fieldAttributes.add(attributes);
+            typeNames[i] = (String) attributes.get("type");
+            fieldTypes[i] = OdooFieldType.fromTypeName(typeNames[i]).orElseThrow();
+            dateTimes[i] = String.format("20%02d-%02d-%02d %02d:%02d:%02d", i % 30, 1 + i % 12, 1 + i % 28, i % 24, i % 60, (i * 7) % 60);
+        }
+    }
+
+    @Benchmark
+    public void parseValueMap(Blackhole blackhole) {
+        for (Map<Object, Object> attributes : fieldAttributes) {
+            blackhole.consume(FieldModel.parseValueMap(attributes));
+        }
+    }
+
+    @Benchmark
+    public void fromTypeName(Blackhole blackhole) {
+        for (String typeName : typeNames) {
+            blackhole.consume(OdooFieldType.fromTypeName(typeName));
+        }
+    }
+
+    @Benchmark
+    public void fromOdooFieldType(Blackhole blackhole) {
+        for (OdooFieldType fieldType : fieldTypes) {
+            blackhole.consume(ModelFieldType.fromOdooFieldType(fieldType));
+        }
+    }
+
+    @Benchmark
+    public void parserUtils(Blackhole blackhole) {
+        for (Map<Object, Object> attributes : fieldAttributes) {
+            Map<Object, Object> attributesMap = OdooParserUtils.parseMap(attributes, "attributes");
+            blackhole.consume(OdooParserUtils.parseString(attributesMap.get("name"), "name"));
+            blackhole.consume(OdooParserUtils.parseBoolean(attributesMap.get("readonly"), "readonly"));
+            blackhole.consume(OdooParserUtils.parseArray(attributesMap.get("depends"), "depends"));
+        }
+    }
+
+    @Benchmark
+    public void parseOdooDateTime(Blackhole blackhole) {
+        for (String dateTime : dateTimes) {
+            blackhole.consume(OdooParserUtils.parseOdooDateTime(dateTime));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.charlyghislain.odoo.benchmarks;
+
+import com.charlyghislain.odoo.client.OdooXmlRpcConstants;
+import com.charlyghislain.odoo.client.transport.OdooHttpTransportFactory;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.XmlRpcRequest;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.client.XmlRpcTransport;
+import org.apache.xmlrpc.client.XmlRpcTransportFactory;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers xml-rpc calls from in-memory fixtures, so that spec generation can be measured without a server.
+ * <p>
+ * Responses are returned as already parsed objects: the xml serialization is not measured.
+ */
+public class FixtureHttpTransportFactory implements OdooHttpTransportFactory {
+
+    // execute_kw params: db, uid, password, model, method, args, kwargs
+    private static final int MODEL_PARAM_INDEX = 3;
+    private static final int METHOD_PARAM_INDEX = 4;
+    private static final int KWARGS_PARAM_INDEX = 6;
+
+    private final List<Map<Object, Object>> models;
+    private final Map<String, Map<Object, Object>> modelFields;
+
+    public FixtureHttpTransportFactory(List<Map<Object, Object>> models, Map<String, Map<Object, Object>> modelFields) {
+        this.models = models;
+        this.modelFields = modelFields;
+    }
+
+    @Override
+    public XmlRpcTransportFactory createXmlRpcTransportFactory(XmlRpcClient xmlRpcClient) {
+        XmlRpcTransport transport = this::sendRequest;
+        return () -> transport;
+    }
+
+    @Override
+    public InputStream post(XmlRpcClientConfigImpl endpointConfig, String contentType, byte[] requestBody) {
+        throw new UnsupportedOperationException("Streaming responses are not supported by the fixtures");
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private Object sendRequest(XmlRpcRequest request) throws XmlRpcException {
+        String methodName = request.getMethodName();
+        if (OdooXmlRpcConstants.COMMON_METHOD_AUTHENTICATE.equals(methodName)) {
+            return 2;
+        }
+        if (!OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE.equals(methodName)) {
+            throw new XmlRpcException("Unhandled method " + methodName);
+        }
+        String modelName = (String) request.getParameter(MODEL_PARAM_INDEX);
+        String method = (String) request.getParameter(METHOD_PARAM_INDEX);
+        switch (method) {
+            case OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_SEARCH_READ: {
+                Map<?, ?> kwargs = (Map<?, ?>) request.getParameter(KWARGS_PARAM_INDEX);
+                int offset = (int) kwargs.get("offset");
+                int limit = (int) kwargs.get("limit");
+                return models.subList(Math.min(offset, models.size()), Math.min(offset + limit, models.size()))
+                        .toArray();
+            }
+            case OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_FIELDS_GET: {
+                Map<Object, Object> fields = modelFields.get(modelName);
+                if (fields == null) {
+                    throw new XmlRpcException("Unknown model " + modelName);
+                }
+                return fields;
+            }
+            default:
+                throw new XmlRpcException("Unhandled method " + method + " on " + modelName);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.charlyghislain.odoo.benchmarks;
+
+import com.charlyghislain.odoo.OpenApiModelGenerator;
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.stub.FieldsGetFixtures;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.apache.xmlrpc.XmlRpcException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full spec building from in-memory fields_get responses, per total number of fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpecGenerationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int fieldCount;
+
+    private FixtureHttpTransportFactory transportFactory;
+    private OdooClient odooClient;
+    private PrintStream systemOut;
+
+    @Setup(Level.Trial)
+    public void setupFixtures() {
+        FieldsGetFixtures fixtures = new FieldsGetFixtures(fieldCount);
+        int modelCount = FieldsGetFixtures.getModelCount(fieldCount);
+        List<Map<Object, Object>> models = fixtures.createModels(modelCount);
+        Map<String, Map<Object, Object>> modelFields = new HashMap<>();
+        for (int i = 0; i < modelCount; i++) {
+            modelFields.put(FieldsGetFixtures.getModelName(i), fixtures.createFieldsGet(i, FieldsGetFixtures.FIELDS_PER_MODEL));
+        }
+        transportFactory = new FixtureHttpTransportFactory(models, modelFields);
+
+        // The generator logs every model
+        systemOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreSystemOut() {
+        System.setOut(systemOut);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupClient() {
+        // A new client so that fields are not cached between invocations
+        OdooClientConfig clientConfig = new OdooClientConfig();
+        clientConfig.setApiURl("http://localhost:8069");
+        clientConfig.setApiDb("benchmark");
+        clientConfig.setApiUser("admin");
+        clientConfig.setApiPassword("admin");
+        clientConfig.setHttpTransportFactory(transportFactory);
+        odooClient = new OdooClient(clientConfig);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeClient() {
+        odooClient.close();
+    }
+
+    @Benchmark
+    public OpenAPI createOpenApiModel() throws XmlRpcException {
+        return new OpenApiModelGenerator(odooClient).createOpenApiModel();
+    }
+}
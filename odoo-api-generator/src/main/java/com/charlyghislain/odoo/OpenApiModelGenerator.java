@@ -29,47 +29,237 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.xmlrpc.XmlRpcException;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class OpenApiModelGenerator {
 
+    public static final Duration DEFAULT_FIELDS_FETCH_TIMEOUT = Duration.ofMinutes(2);
+    // Defaults of the proxy as well
+    public static final int DEFAULT_LIST_LIMIT = 80;
+    public static final int DEFAULT_LIST_MAX_LIMIT = 1000;
+    public static final Set<OdooFieldType> DEFAULT_EXCLUDED_FIELD_TYPES = Set.of(OdooFieldType.BINARY, OdooFieldType.HTML);
+
+    private static final List<String> MODEL_DISCOVERY_FIELDS = List.of("id", "name", "model");
+    private static final DateTimeFormatter ODOO_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int CHANGES_PAGE_SIZE = 1000;
+
     private final OdooClient odooClient;
 
+    /**
+     * Number of ir.model records fetched per search_read call while discovering models.
+     */
+    @Getter
+    @Setter
+    private int discoveryPageSize = 200;
+    /**
+     * Maximum number of concurrent fields_get calls.
+     */
+    @Getter
+    @Setter
+    private int fieldsFetchParallelism = 4;
+    /**
+     * Time after which a model whose fields have not been received is left out of the spec, counted from the moment
+     * its fields_get call is submitted. The call is then cancelled, and the next models do not wait for it.
+     */
+    @Getter
+    @Setter
+    private Duration fieldsFetchTimeout = DEFAULT_FIELDS_FETCH_TIMEOUT;
+    /**
+     * Page size of the list operations without a limit. Must match the proxy.listDefaultLimit setting of the proxy.
+     */
+    @Getter
+    @Setter
+    private int listDefaultLimit = DEFAULT_LIST_LIMIT;
+    /**
+     * Largest page of the list operations. Must match the proxy.listMaxLimit setting of the proxy.
+     */
+    @Getter
+    @Setter
+    private int listMaxLimit = DEFAULT_LIST_MAX_LIMIT;
+    /**
+     * Field types left out of reads and lists that do not select fields, described in the fields parameter. Must
+     * match the proxy.defaultExcludedFieldTypes setting of the proxy.
+     */
+    @Getter
+    @Setter
+    private Set<OdooFieldType> defaultExcludedFieldTypes = EnumSet.copyOf(DEFAULT_EXCLUDED_FIELD_TYPES);
+    /**
+     * Subtracted from the snapshot date, to account for a clock difference with the odoo server.
+     */
+    @Getter
+    @Setter
+    private Duration snapshotDateMargin = Duration.ofMinutes(5);
+    /**
+     * The models and fields of the last run, to pass to the next one.
+     */
+    @Getter
+    private OpenApiSpecSnapshot snapshot;
+
     public OpenApiModelGenerator(OdooClient odooClient) {
         this.odooClient = odooClient;
     }
 
     public OpenAPI createOpenApiModel() throws XmlRpcException {
+        return createOpenApiModel(null);
+    }
+
+    /**
+     * @param previousSnapshot when set, fields are only fetched for the models that changed since that snapshot
+     */
+    public OpenAPI createOpenApiModel(OpenApiSpecSnapshot previousSnapshot) throws XmlRpcException {
+        String snapshotDate = ODOO_DATE_TIME_FORMATTER.format(LocalDateTime.now(ZoneOffset.UTC).minus(snapshotDateMargin));
         OdooModelClient modelClient = odooClient.getModelClient("ir.model");
-        List<Integer> idList = modelClient.search(List.of(
+        List<Object> modelDomain = List.of(
                 List.of("state", "=", "base")
-        ), 0, 1000);
+        );
+        List<Map<Object, Object>> modelList = discoverModels(modelClient, modelDomain);
+        Map<String, Map<String, FieldModel>> unchangedModelFields = previousSnapshot == null
+                ? Map.of()
+                : findUnchangedModelFields(modelList, previousSnapshot);
+
+        this.snapshot = new OpenApiSpecSnapshot();
+        this.snapshot.setSnapshotDate(snapshotDate);
+        OdooClientConfig clientConfig = odooClient.getClientConfig();
+        String apiDb = clientConfig.getApiDb();
+        OpenAPI openApi = createOpenApi(odooClient, modelList, apiDb, unchangedModelFields);
+        return openApi;
+    }
+
+    /**
+     * Models whose ir.model or ir.model.fields records were written since the snapshot are fetched again, as well as
+     * models with a snapshot field no longer listed in ir.model.fields: deleting a field leaves no newer write date.
+     */
+    private Map<String, Map<String, FieldModel>> findUnchangedModelFields(List<Map<Object, Object>> modelList,
+                                                                         OpenApiSpecSnapshot previousSnapshot) {
+        String changedSince = previousSnapshot.getSnapshotDate();
+        List<Object> changedDomain = List.of(
+                List.of("write_date", ">=", changedSince)
+        );
+        Set<String> changedModelNames = new HashSet<>();
+        Map<String, Set<String>> modelFieldNames;
+        try {
+            addChangedModelNames(changedModelNames, "ir.model", changedDomain);
+            addChangedModelNames(changedModelNames, "ir.model.fields", changedDomain);
+            modelFieldNames = listModelFieldNames();
+        } catch (OdooRuntimeError e) {
+            System.err.println("Unable to list the models changed since " + changedSince + ", fetching all of them: " + e.getMessage());
+            return Map.of();
+        }
+
+        Map<String, Map<String, FieldModel>> unchangedModelFields = new HashMap<>();
+        int removedFieldsModelCount = 0;
+        for (Map<Object, Object> modelMap : modelList) {
+            String modelName = OdooParserUtils.parseString(modelMap.get("model"), "Model name");
+            OpenApiSpecSnapshot.SnapshotModel snapshotModel = previousSnapshot.getModels().get(modelName);
+            if (snapshotModel == null || changedModelNames.contains(modelName)) {
+                continue;
+            }
+            Set<String> fieldNames = modelFieldNames.getOrDefault(modelName, Set.of());
+            if (!fieldNames.containsAll(snapshotModel.getFields().keySet())) {
+                removedFieldsModelCount++;
+                continue;
+            }
+            unchangedModelFields.put(modelName, snapshotModel.getFields());
+        }
+        System.out.println(changedModelNames.size() + " models changed since " + changedSince + ", "
+                + removedFieldsModelCount + " with removed fields, " + (modelList.size() - unchangedModelFields.size()) + " to fetch");
+        return unchangedModelFields;
+    }
+
+    /**
+     * @return the field names of each model, as listed by ir.model.fields
+     */
+    private Map<String, Set<String>> listModelFieldNames() {
+        OdooModelClient modelClient = odooClient.getModelClient("ir.model.fields");
+        Map<String, Set<String>> modelFieldNames = new HashMap<>();
+        try (Stream<Map<Object, Object>> fieldRecords = modelClient.searchReadAllAfter(List.of(), List.of("model", "name"), CHANGES_PAGE_SIZE)) {
+            fieldRecords.forEach(record -> {
+                String modelName = OdooParserUtils.parseString(record.get("model"), "Field model name");
+                String fieldName = OdooParserUtils.parseString(record.get("name"), "Field name");
+                modelFieldNames.computeIfAbsent(modelName, k -> new HashSet<>()).add(fieldName);
+            });
+        }
+        return modelFieldNames;
+    }
+
+    private void addChangedModelNames(Set<String> changedModelNames, String modelName, List<Object> changedDomain) {
+        OdooModelClient modelClient = odooClient.getModelClient(modelName);
+        try (Stream<Map<Object, Object>> changedRecords = modelClient.searchReadAllAfter(changedDomain, List.of("model"), CHANGES_PAGE_SIZE)) {
+            changedRecords.map(record -> OdooParserUtils.parseString(record.get("model"), "Changed model name"))
+                    .forEach(changedModelNames::add);
+        }
+    }
+
+    private List<Map<Object, Object>> discoverModels(OdooModelClient modelClient, List<Object> modelDomain) throws XmlRpcException {
         List<Map<Object, Object>> modelList = new ArrayList<>();
-        for (int id : idList) {
+        int offset = 0;
+        int pageSize;
+        do {
             try {
-                Object model = modelClient.read(id, List.of("id", "name", "model"));
-                Map<Object, Object> modelsMap = OdooParserUtils.parseMap(model, "Model response as map");
-                String modelName = OdooParserUtils.parseString(modelsMap.get("model"), "Model name");
-
-                System.out.println("Read model " + modelName);
-                modelList.add(modelsMap);
-            } catch (Exception e) {
-                System.err.println("Unable to read model #" + id + ": " + e.getMessage());
+                List<Object> models = modelClient.searchRead(List.of(modelDomain), offset, discoveryPageSize, MODEL_DISCOVERY_FIELDS);
+                models.forEach(model -> addDiscoveredModel(modelList, model));
+                pageSize = models.size();
+            } catch (OdooRuntimeError e) {
+                // A single model failing to serialize on the backend fails the whole page: retry its ids one by one
+                System.err.println("Unable to read models at offset " + offset + ", reading them one by one: " + e.getMessage());
+                List<Integer> idList = modelClient.search(modelDomain, offset, discoveryPageSize);
+                idList.forEach(id -> readDiscoveredModel(modelClient, modelList, id));
+                pageSize = idList.size();
             }
+            offset += discoveryPageSize;
+        } while (pageSize == discoveryPageSize);
+        return modelList;
+    }
+
+    private void readDiscoveredModel(OdooModelClient modelClient, List<Map<Object, Object>> modelList, int id) {
+        try {
+            Object model = modelClient.read(id, MODEL_DISCOVERY_FIELDS);
+            addDiscoveredModel(modelList, model);
+        } catch (Exception e) {
+            System.err.println("Unable to read model #" + id + ": " + e.getMessage());
         }
+    }
 
-        OdooClientConfig clientConfig = odooClient.getClientConfig();
-        String apiDb = clientConfig.getApiDb();
-        OpenAPI openApi = createOpenApi(odooClient, modelList, apiDb);
-        return openApi;
+    private void addDiscoveredModel(List<Map<Object, Object>> modelList, Object model) {
+        try {
+            Map<Object, Object> modelsMap = OdooParserUtils.parseMap(model, "Model response as map");
+            String modelName = OdooParserUtils.parseString(modelsMap.get("model"), "Model name");
+
+            System.out.println("Read model " + modelName);
+            modelList.add(modelsMap);
+        } catch (Exception e) {
+            System.err.println("Unable to parse model " + model + ": " + e.getMessage());
+        }
     }
 
-    private OpenAPI createOpenApi(OdooClient odooClient, List<Map<Object, Object>> responseObjects, String apiDb) {
+    private OpenAPI createOpenApi(OdooClient odooClient, List<Map<Object, Object>> responseObjects, String apiDb,
+                                  Map<String, Map<String, FieldModel>> unchangedModelFields) {
         OpenAPI openAPI = new OpenAPI();
         Info info = new Info()
                 .title("Odoo REST api (db " + apiDb + ")")
@@ -79,30 +269,104 @@ public class OpenApiModelGenerator {
         Paths paths = new Paths();
         Components components = new Components();
 
-        responseObjects.forEach(modelMap -> {
-            String modelName = OdooParserUtils.parseString(modelMap.get("model"), "Model name");
-            createComponent(components, modelName, modelMap, odooClient);
-            createModelOperations(paths, modelName, modelMap);
+        // Authenticate once before the workers share the client
+        odooClient.getAuthenticatedUserId();
+        // Cached, so that a worker abandoned on a hung model does not hold back the fetches of the next ones
+        ExecutorService fieldsExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "odoo-fields-fetch");
+            thread.setDaemon(true);
+            return thread;
         });
+        try {
+            List<String> modelNames = responseObjects.stream()
+                    .map(modelMap -> OdooParserUtils.parseString(modelMap.get("model"), "Model name"))
+                    .collect(Collectors.toList());
+            List<FieldsFetch> fieldsFetches = new ArrayList<>();
+            int pendingFetchCount = 0;
+
+            // Assemble in model order so that the output does not depend on completion order
+            for (int i = 0; i < modelNames.size(); i++) {
+                // Keep up to fieldsFetchParallelism fetches submitted ahead of the model being assembled
+                while (fieldsFetches.size() < modelNames.size() && pendingFetchCount < fieldsFetchParallelism) {
+                    String nextModelName = modelNames.get(fieldsFetches.size());
+                    if (unchangedModelFields.containsKey(nextModelName)) {
+                        fieldsFetches.add(null);
+                    } else {
+                        fieldsFetches.add(submitFieldsFetch(odooClient, nextModelName, fieldsExecutor));
+                        pendingFetchCount++;
+                    }
+                }
+                Map<Object, Object> modelMap = responseObjects.get(i);
+                String modelName = modelNames.get(i);
+                FieldsFetch fieldsFetch = fieldsFetches.get(i);
+                Map<String, FieldModel> fetchedFields;
+                if (fieldsFetch == null) {
+                    fetchedFields = unchangedModelFields.get(modelName);
+                } else {
+                    fetchedFields = awaitFields(modelName, fieldsFetch);
+                    fieldsFetches.set(i, null);
+                    pendingFetchCount--;
+                }
+                Map<String, FieldModel> fields = createComponent(components, modelName, modelMap, fetchedFields);
+                createModelOperations(paths, modelName, modelMap, fields);
+            }
+        } finally {
+            fieldsExecutor.shutdownNow();
+        }
         openAPI.setComponents(components);
         openAPI.setPaths(paths);
         return openAPI;
     }
 
-    private void createComponent(Components components, String modelName, Map<Object, Object> modelsMap, OdooClient odooClient) {
-        OdooModelClient modelClient = odooClient.getModelClient(modelName);
-        ObjectSchema objectSchema = new ObjectSchema();
-
+    private FieldsFetch submitFieldsFetch(OdooClient odooClient, String modelName, ExecutorService fieldsExecutor) {
+        long deadlineNanos = System.nanoTime() + fieldsFetchTimeout.toNanos();
+        Future<Map<String, FieldModel>> fieldsFuture = fieldsExecutor.submit(() -> odooClient.getModelClient(modelName).getFields());
+        return new FieldsFetch(fieldsFuture, deadlineNanos);
+    }
 
-        Map<String, FieldModel> fields;
+    /**
+     * @return the fields of the model, or null when they could not be fetched before the fetch deadline
+     */
+    private Map<String, FieldModel> awaitFields(String modelName, FieldsFetch fieldsFetch) {
+        long remainingNanos = Math.max(0, fieldsFetch.deadlineNanos - System.nanoTime());
         try {
-            fields = modelClient.getFields();
-        } catch (OdooRuntimeError e) {
-            System.err.println("Unable to list fields for model " + modelName + ": " + e.getMessage());
+            return fieldsFetch.fieldsFuture.get(remainingNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Interrupts the worker. A call still blocked reading its socket is left behind on its daemon thread
+            fieldsFetch.fieldsFuture.cancel(true);
+            System.err.println("Unable to list fields for model " + modelName + ": timed out after " + fieldsFetchTimeout);
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (!(cause instanceof OdooRuntimeError)) {
+                throw new CompletionException(cause);
+            }
+            System.err.println("Unable to list fields for model " + modelName + ": " + cause.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OdooRuntimeError("Interrupted while listing the fields for model " + modelName, e);
+        }
+    }
+
+    /**
+     * @param fetchedFields the fields of the model, or null when they could not be fetched
+     * @return the fields of the model, sorted by name, or an empty map when they could not be fetched
+     */
+    private Map<String, FieldModel> createComponent(Components components, String modelName, Map<Object, Object> modelsMap,
+                                                    Map<String, FieldModel> fetchedFields) {
+        ObjectSchema objectSchema = new ObjectSchema();
+        if (fetchedFields == null) {
             components.addSchemas(modelName, objectSchema);
-            return;
+            return Map.of();
         }
+        // Sorted, so that the output does not depend on how the fields map was built
+        Map<String, FieldModel> fields = new TreeMap<>(fetchedFields);
         System.out.println(" read " + fields.size() + " fields for " + modelName);
+        OpenApiSpecSnapshot.SnapshotModel snapshotModel = new OpenApiSpecSnapshot.SnapshotModel();
+        snapshotModel.setModel(modelsMap);
+        snapshotModel.setFields(fields);
+        snapshot.getModels().put(modelName, snapshotModel);
 
         fields.entrySet().forEach(e -> {
             String fieldName = e.getKey();
@@ -122,6 +386,7 @@ public class OpenApiModelGenerator {
                 .collect(Collectors.toList());
         objectSchema.setRequired(requiredFields);
         components.addSchemas(modelName, objectSchema);
+        return fields;
     }
 
     private Schema createFieldSchema(FieldModel fieldModel) {
@@ -138,7 +403,10 @@ public class OpenApiModelGenerator {
                 return new IntegerSchema();
             case SELECTION: {
                 StringSchema stringSchema = new StringSchema();
-                stringSchema.setEnum(fieldModel.getSelectionValues());
+                // Selection values are shared between field models
+                Optional.ofNullable(fieldModel.getSelectionValues())
+                        .map(ArrayList::new)
+                        .ifPresent(stringSchema::setEnum);
                 return stringSchema;
             }
             case CHAR:
@@ -184,10 +452,13 @@ public class OpenApiModelGenerator {
     }
 
 
-    private void createModelOperations(Paths paths, String modelName, Map<Object, Object> modelsMap) {
+    private void createModelOperations(Paths paths, String modelName, Map<Object, Object> modelsMap,
+                                       Map<String, FieldModel> fields) {
         String modelLabel = OdooParserUtils.parseString(modelsMap.get("name"), "Model label");
 
         PathItem rootPathItem = new PathItem();
+        Operation listOperation = createListOperation(modelName, modelLabel);
+        rootPathItem.setGet(listOperation);
         Operation postOperation = createPostOperation(modelName, modelLabel);
         rootPathItem.setPost(postOperation);
         paths.addPathItem("/model/" + modelName, rootPathItem);
@@ -202,6 +473,60 @@ public class OpenApiModelGenerator {
         Operation deleteOpeation = createDeleteOperation(modelName, modelLabel);
         idPathItem.setDelete(deleteOpeation);
         paths.addPathItem("/model/" + modelName + "/{id}", idPathItem);
+
+        fields.forEach((fieldName, fieldModel) -> {
+            if (fieldModel.getType() != OdooFieldType.BINARY) {
+                return;
+            }
+            PathItem binaryPathItem = new PathItem();
+            binaryPathItem.setGet(createGetBinaryOperation(modelName, modelLabel, fieldName, fieldModel));
+            paths.addPathItem("/model/" + modelName + "/{id}/" + fieldName, binaryPathItem);
+        });
+    }
+
+    private Operation createGetBinaryOperation(String modelName, String modelLabel, String fieldName, FieldModel fieldModel) {
+        Operation getOperation = new Operation();
+        getOperation.setOperationId("get_" + modelName + "_" + fieldName);
+        getOperation.setDescription("Download the " + Optional.ofNullable(fieldModel.getLabel()).orElse(fieldName)
+                + " of a " + modelLabel + (fieldModel.isAttachment() ? ". Single byte ranges are supported" : ""));
+
+        Parameter idPathParm = new Parameter();
+        idPathParm.setName("id");
+        idPathParm.setDescription("The id of the object to fetch");
+        idPathParm.setIn("path");
+        IntegerSchema idParamSchema = new IntegerSchema();
+        idPathParm.setSchema(idParamSchema);
+        idPathParm.setRequired(true);
+        getOperation.addParametersItem(idPathParm);
+
+        Content responseContent = new Content();
+        MediaType mediaType = new MediaType();
+        mediaType.setSchema(new BinarySchema());
+        responseContent.addMediaType("application/octet-stream", mediaType);
+        ApiResponses apiResponses = new ApiResponses();
+        apiResponses.addApiResponse("200", new ApiResponse()
+                .content(responseContent)
+                .description("The content"));
+        if (fieldModel.isAttachment()) {
+            Parameter rangeHeaderParam = new Parameter();
+            rangeHeaderParam.setName("Range");
+            rangeHeaderParam.setDescription("A single byte range, eg: bytes=0-1023");
+            rangeHeaderParam.setIn("header");
+            rangeHeaderParam.setSchema(new StringSchema());
+            getOperation.addParametersItem(rangeHeaderParam);
+
+            apiResponses.addApiResponse("206", new ApiResponse()
+                    .content(responseContent)
+                    .description("The requested range of the content"));
+            apiResponses.addApiResponse("304", new ApiResponse()
+                    .description("The content matches the If-None-Match etag"));
+            apiResponses.addApiResponse("416", new ApiResponse()
+                    .description("The range is outside of the content"));
+        }
+        apiResponses.addApiResponse("404", new ApiResponse()
+                .description("The field is not set"));
+        getOperation.setResponses(apiResponses);
+        return getOperation;
     }
 
     private Operation createGetOperation(String modelName, String modelLabel) {
@@ -217,6 +542,7 @@ public class OpenApiModelGenerator {
         idPathParm.setSchema(idParamSchema);
         idPathParm.setRequired(true);
         getOperation.addParametersItem(idPathParm);
+        getOperation.addParametersItem(createFieldsQueryParam());
 
         Content responseContent = createJsonModelContent(modelName);
         ApiResponse response = new ApiResponse()
@@ -228,6 +554,69 @@ public class OpenApiModelGenerator {
         return getOperation;
     }
 
+    private Operation createListOperation(String modelName, String modelLabel) {
+        Operation listOperation = new Operation();
+        listOperation.setOperationId("list_" + modelName);
+        listOperation.setDescription("List " + modelLabel + " records, ordered by id");
+        listOperation.addParametersItem(createFieldsQueryParam());
+
+        Parameter limitQueryParam = new Parameter();
+        limitQueryParam.setName("limit");
+        limitQueryParam.setDescription("The maximum number of records in the page");
+        limitQueryParam.setIn("query");
+        IntegerSchema limitParamSchema = new IntegerSchema();
+        limitParamSchema.setMinimum(BigDecimal.ONE);
+        limitParamSchema.setMaximum(BigDecimal.valueOf(listMaxLimit));
+        limitParamSchema.setDefault(listDefaultLimit);
+        limitQueryParam.setSchema(limitParamSchema);
+        listOperation.addParametersItem(limitQueryParam);
+
+        Parameter cursorQueryParam = new Parameter();
+        cursorQueryParam.setName("cursor");
+        cursorQueryParam.setDescription("The nextCursor of the previous page, omitted for the first page");
+        cursorQueryParam.setIn("query");
+        cursorQueryParam.setSchema(new StringSchema());
+        listOperation.addParametersItem(cursorQueryParam);
+
+        ArraySchema recordsSchema = new ArraySchema();
+        ObjectSchema recordSchema = new ObjectSchema();
+        recordSchema.set$ref(createComponentRef(modelName));
+        recordsSchema.setItems(recordSchema);
+        StringSchema nextCursorSchema = new StringSchema();
+        nextCursorSchema.setNullable(true);
+        nextCursorSchema.setDescription("The cursor of the next page, null on the last page");
+        ObjectSchema pageSchema = new ObjectSchema();
+        pageSchema.addProperties("records", recordsSchema);
+        pageSchema.addProperties("nextCursor", nextCursorSchema);
+        MediaType mediaType = new MediaType();
+        mediaType.setSchema(pageSchema);
+        Content responseContent = new Content();
+        responseContent.addMediaType("application/json", mediaType);
+
+        ApiResponse response = new ApiResponse()
+                .content(responseContent)
+                .description("Success response");
+        ApiResponses apiResponses = new ApiResponses();
+        apiResponses.addApiResponse("200", response);
+        listOperation.setResponses(apiResponses);
+        return listOperation;
+    }
+
+    private Parameter createFieldsQueryParam() {
+        Parameter fieldsQueryParam = new Parameter();
+        fieldsQueryParam.setName("fields");
+        String defaultFieldsDescription = defaultExcludedFieldTypes.isEmpty()
+                ? "Without this parameter, all the fields are returned"
+                : "Without this parameter, the fields of type " + defaultExcludedFieldTypes.stream()
+                .map(OdooFieldType::getTypeName)
+                .collect(Collectors.joining(", ")) + " are left out";
+        fieldsQueryParam.setDescription("Comma-separated names of the fields to return, or * for all of them. "
+                + defaultFieldsDescription);
+        fieldsQueryParam.setIn("query");
+        fieldsQueryParam.setSchema(new StringSchema());
+        return fieldsQueryParam;
+    }
+
     private Operation createPutOperation(String modelName, String modelLabel) {
         Operation putOperation = new Operation();
         putOperation.setOperationId("put_" + modelName);
@@ -310,4 +699,14 @@ public class OpenApiModelGenerator {
     private String createComponentRef(String modelName) {
         return "#/components/schemas/" + modelName;
     }
+
+    private static class FieldsFetch {
+        private final Future<Map<String, FieldModel>> fieldsFuture;
+        private final long deadlineNanos;
+
+        private FieldsFetch(Future<Map<String, FieldModel>> fieldsFuture, long deadlineNanos) {
+            this.fieldsFuture = fieldsFuture;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
 }
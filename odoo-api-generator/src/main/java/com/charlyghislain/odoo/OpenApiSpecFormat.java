@@ -0,0 +1,16 @@
+package com.charlyghislain.odoo;
+
+import lombok.Getter;
+
+public enum OpenApiSpecFormat {
+    YAML("yml"),
+    JSON("json"),
+    ;
+
+    @Getter
+    private final String fileExtension;
+
+    OpenApiSpecFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+}
@@ -0,0 +1,57 @@
+package com.charlyghislain.odoo;
+
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The models and fields of a generation run, to only fetch the ones that changed on the next run.
+ */
+@Getter
+@Setter
+public class OpenApiSpecSnapshot {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Odoo datetime (UTC) before the run started. Changes written after it are fetched on the next run
+    private String snapshotDate;
+    // By model name
+    private Map<String, SnapshotModel> models = new LinkedHashMap<>();
+
+    public static OpenApiSpecSnapshot read(Path snapshotFile) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(snapshotFile))) {
+            return OBJECT_MAPPER.readValue(inputStream, OpenApiSpecSnapshot.class);
+        }
+    }
+
+    public void write(Path snapshotFile) throws IOException {
+        // Replace the previous snapshot only once the new one is complete
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+            OBJECT_MAPPER.writeValue(outputStream, this);
+        }
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Getter
+    @Setter
+    public static class SnapshotModel {
+        // The ir.model record
+        private Map<Object, Object> model;
+        private Map<String, FieldModel> fields;
+    }
+}
@@ -0,0 +1,90 @@
+package com.charlyghislain.odoo;
+
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.serializer.OpenAPISerializer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serializes the spec directly to a file, without building the whole document in memory first.
+ * <p>
+ * The output is the one of the openapi-generator SerializerUtils, without the exampleSetFlag properties.
+ */
+public class OpenApiSpecWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    public OpenApiSpecWriter(OpenApiSpecFormat format) {
+        this.objectMapper = createObjectMapper(format);
+    }
+
+    public void write(OpenAPI openApi, Path outputFile) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(outputFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(fileChannel), BUFFER_SIZE)) {
+            write(openApi, outputStream);
+        }
+    }
+
+    /**
+     * Does not close the stream
+     */
+    public void write(OpenAPI openApi, OutputStream outputStream) throws IOException {
+        objectMapper.writerFor(OpenAPI.class)
+                .writeValue(outputStream, openApi);
+    }
+
+    /**
+     * Writes a schema as a standalone document. Does not close the stream
+     */
+    public void writeSchema(Schema<?> schema, OutputStream outputStream) throws IOException {
+        objectMapper.writerFor(Schema.class)
+                .writeValue(outputStream, schema);
+    }
+
+    private static ObjectMapper createObjectMapper(OpenApiSpecFormat format) {
+        ObjectMapper objectMapper;
+        switch (format) {
+            case YAML: {
+                objectMapper = Yaml.mapper().copy();
+                ((YAMLFactory) objectMapper.getFactory()).enable(YAMLGenerator.Feature.MINIMIZE_QUOTES);
+                break;
+            }
+            case JSON:
+                objectMapper = Json.mapper().copy();
+                break;
+            default:
+                throw new OdooRuntimeError("Unhandled format " + format);
+        }
+        SimpleModule module = new SimpleModule("OpenAPIModule");
+        module.addSerializer(OpenAPI.class, new OpenAPISerializer());
+        return objectMapper.registerModule(module)
+                .addMixIn(Schema.class, SchemaMixin.class)
+                .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+
+    private abstract static class SchemaMixin {
+        @JsonIgnore
+        public abstract boolean getExampleSetFlag();
+    }
+}
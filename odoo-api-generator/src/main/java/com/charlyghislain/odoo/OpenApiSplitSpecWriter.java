@@ -0,0 +1,148 @@
+package com.charlyghislain.odoo;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes each component schema to its own file under a schemas directory, and a root document referencing them.
+ * <p>
+ * Schema files are serialized concurrently, and only rewritten when their content changed, so that their
+ * modification time tells which models changed since the previous generation. Schema files of models no longer in
+ * the spec are removed.
+ */
+public class OpenApiSplitSpecWriter {
+
+    public static final String SCHEMAS_DIR_NAME = "schemas";
+
+    private final OpenApiSpecFormat format;
+    private final OpenApiSpecWriter specWriter;
+    private final int parallelism;
+
+    public OpenApiSplitSpecWriter(OpenApiSpecFormat format, int parallelism) {
+        this.format = format;
+        this.specWriter = new OpenApiSpecWriter(format);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the number of schema files written, not counting the unchanged ones
+     */
+    public int write(OpenAPI openApi, Path outputDir) throws IOException {
+        Path schemasDir = outputDir.resolve(SCHEMAS_DIR_NAME);
+        Files.createDirectories(schemasDir);
+        Map<String, Schema<?>> schemas = getSchemas(openApi);
+
+        AtomicInteger writtenCount = new AtomicInteger();
+        ExecutorService writeExecutor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<Void>> writeFutures = new ArrayList<>();
+            schemas.forEach((name, schema) -> writeFutures.add(CompletableFuture.runAsync(() -> {
+                if (writeSchemaFile(schemasDir.resolve(getSchemaFileName(name)), schema)) {
+                    writtenCount.incrementAndGet();
+                }
+            }, writeExecutor)));
+            CompletableFuture.allOf(writeFutures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        } finally {
+            writeExecutor.shutdownNow();
+        }
+        deleteStaleSchemaFiles(schemasDir, schemas.keySet());
+
+        Path rootFile = outputDir.resolve("openapi." + format.getFileExtension());
+        specWriter.write(createRootDocument(openApi), rootFile);
+        return writtenCount.get();
+    }
+
+    private static Map<String, Schema<?>> getSchemas(OpenAPI openApi) {
+        Map<String, Schema<?>> schemas = new LinkedHashMap<>();
+        Components components = openApi.getComponents();
+        if (components != null && components.getSchemas() != null) {
+            components.getSchemas().forEach(schemas::put);
+        }
+        return schemas;
+    }
+
+    private String getSchemaFileName(String schemaName) {
+        return schemaName + "." + format.getFileExtension();
+    }
+
+    private boolean writeSchemaFile(Path schemaFile, Schema<?> schema) {
+        try {
+            ByteArrayOutputStream schemaBytes = new ByteArrayOutputStream();
+            specWriter.writeSchema(schema, schemaBytes);
+            byte[] content = schemaBytes.toByteArray();
+            if (Files.exists(schemaFile) && Arrays.equals(Files.readAllBytes(schemaFile), content)) {
+                return false;
+            }
+            Files.write(schemaFile, content);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write " + schemaFile, e);
+        }
+    }
+
+    private void deleteStaleSchemaFiles(Path schemasDir, Set<String> schemaNames) throws IOException {
+        Set<String> schemaFileNames = schemaNames.stream()
+                .map(this::getSchemaFileName)
+                .collect(Collectors.toSet());
+        String extension = "." + format.getFileExtension();
+        List<Path> staleFiles;
+        try (Stream<Path> schemaFiles = Files.list(schemasDir)) {
+            staleFiles = schemaFiles
+                    .filter(file -> file.getFileName().toString().endsWith(extension))
+                    .filter(file -> !schemaFileNames.contains(file.getFileName().toString()))
+                    .collect(Collectors.toList());
+        }
+        for (Path staleFile : staleFiles) {
+            Files.delete(staleFile);
+        }
+    }
+
+    /**
+     * The component schemas reference their file, so that the operations still reference the components.
+     */
+    private OpenAPI createRootDocument(OpenAPI openApi) {
+        Components components = new Components();
+        getSchemas(openApi).keySet().forEach(name -> {
+            Schema<?> schemaRef = new Schema<>();
+            schemaRef.set$ref(SCHEMAS_DIR_NAME + "/" + getSchemaFileName(name));
+            components.addSchemas(name, schemaRef);
+        });
+
+        OpenAPI rootDocument = new OpenAPI();
+        rootDocument.setOpenapi(openApi.getOpenapi());
+        rootDocument.setInfo(openApi.getInfo());
+        rootDocument.setServers(openApi.getServers());
+        rootDocument.setTags(openApi.getTags());
+        rootDocument.setSecurity(openApi.getSecurity());
+        rootDocument.setExternalDocs(openApi.getExternalDocs());
+        rootDocument.setExtensions(openApi.getExtensions());
+        rootDocument.setPaths(openApi.getPaths());
+        rootDocument.setComponents(components);
+        return rootDocument;
+    }
+}
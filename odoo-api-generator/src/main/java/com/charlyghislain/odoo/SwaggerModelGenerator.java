@@ -2,17 +2,16 @@ package com.charlyghislain.odoo;
 
 import com.charlyghislain.odoo.client.OdooClient;
 import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.apache.xmlrpc.XmlRpcException;
-import org.openapitools.codegen.serializer.SerializerUtils;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.Optional;
 
 public class SwaggerModelGenerator {
 
@@ -27,22 +26,83 @@ public class SwaggerModelGenerator {
         clientConfig.setApiPassword(apiKey);
         clientConfig.setApiURl(apiUri);
         clientConfig.setApiUser(apiUser);
-
-        OdooClient odooClient = new OdooClient(clientConfig);
-        OpenApiModelGenerator modelGenerator = new OpenApiModelGenerator(odooClient);
-        OpenAPI openApiModel = modelGenerator.createOpenApiModel();
-
-        String yaml = SerializerUtils.toYamlString(openApiModel);
-        BufferedReader yamlReader = new BufferedReader(new StringReader(yaml));
-        String filteredYaml = yamlReader.lines()
-                .filter(l -> !l.contains("exampleSetFlag:"))
-                .collect(Collectors.joining("\n"));
+        Duration fieldsFetchTimeout = Optional.ofNullable(System.getProperty("spec.fieldsTimeoutSeconds"))
+                .map(Long::parseLong)
+                .map(Duration::ofSeconds)
+                .orElse(OpenApiModelGenerator.DEFAULT_FIELDS_FETCH_TIMEOUT);
 
         String outputDir = System.getProperty("spec.outputDir");
         Path outputDirPath = Paths.get(outputDir);
         Files.createDirectories(outputDirPath);
-        Path outputFile = outputDirPath.resolve("openapi.yml");
-        Files.writeString(outputFile, filteredYaml);
+
+        boolean incremental = Boolean.parseBoolean(System.getProperty("spec.incremental", "false"));
+        Path snapshotFile = Optional.ofNullable(System.getProperty("spec.snapshotFile"))
+                .map(Paths::get)
+                .orElseGet(() -> outputDirPath.resolve("openapi-snapshot.json"));
+        OpenApiSpecSnapshot previousSnapshot = incremental ? readSnapshot(snapshotFile) : null;
+
+        OpenAPI openApiModel;
+        OpenApiSpecSnapshot snapshot;
+        try (OdooClient odooClient = new OdooClient(clientConfig)) {
+            OpenApiModelGenerator modelGenerator = createModelGenerator(odooClient, fieldsFetchTimeout);
+            openApiModel = modelGenerator.createOpenApiModel(previousSnapshot);
+            snapshot = modelGenerator.getSnapshot();
+            System.out.println("Odoo calls:");
+            odooClient.getCallMetrics().writeReport(System.out);
+        }
+
+        OpenApiSpecFormat specFormat = Optional.ofNullable(System.getProperty("spec.format"))
+                .map(String::toUpperCase)
+                .map(OpenApiSpecFormat::valueOf)
+                .orElse(OpenApiSpecFormat.YAML);
+
+        boolean splitSpec = Boolean.parseBoolean(System.getProperty("spec.split", "false"));
+        if (splitSpec) {
+            int splitParallelism = Optional.ofNullable(System.getProperty("spec.splitParallelism"))
+                    .map(Integer::parseInt)
+                    .orElse(Runtime.getRuntime().availableProcessors());
+            OpenApiSplitSpecWriter splitSpecWriter = new OpenApiSplitSpecWriter(specFormat, splitParallelism);
+            int writtenCount = splitSpecWriter.write(openApiModel, outputDirPath);
+            System.out.println("Wrote " + writtenCount + " changed schema files");
+        } else {
+            Path outputFile = outputDirPath.resolve("openapi." + specFormat.getFileExtension());
+            new OpenApiSpecWriter(specFormat).write(openApiModel, outputFile);
+        }
+        if (incremental) {
+            snapshot.write(snapshotFile);
+        }
+    }
+
+    private static OpenApiSpecSnapshot readSnapshot(Path snapshotFile) {
+        if (!Files.exists(snapshotFile)) {
+            return null;
+        }
+        try {
+            return OpenApiSpecSnapshot.read(snapshotFile);
+        } catch (IOException e) {
+            System.err.println("Unable to read the snapshot " + snapshotFile + ", fetching all models: " + e.getMessage());
+            return null;
+        }
     }
 
+    private static OpenApiModelGenerator createModelGenerator(OdooClient odooClient, Duration fieldsFetchTimeout) {
+        OpenApiModelGenerator modelGenerator = new OpenApiModelGenerator(odooClient);
+        modelGenerator.setFieldsFetchTimeout(fieldsFetchTimeout);
+        Optional.ofNullable(System.getProperty("spec.discoveryPageSize"))
+                .map(Integer::parseInt)
+                .ifPresent(modelGenerator::setDiscoveryPageSize);
+        Optional.ofNullable(System.getProperty("spec.fieldsParallelism"))
+                .map(Integer::parseInt)
+                .ifPresent(modelGenerator::setFieldsFetchParallelism);
+        Optional.ofNullable(System.getProperty("spec.listDefaultLimit"))
+                .map(Integer::parseInt)
+                .ifPresent(modelGenerator::setListDefaultLimit);
+        Optional.ofNullable(System.getProperty("spec.listMaxLimit"))
+                .map(Integer::parseInt)
+                .ifPresent(modelGenerator::setListMaxLimit);
+        Optional.ofNullable(System.getProperty("spec.defaultExcludedFieldTypes"))
+                .map(OdooFieldType::parseTypeNames)
+                .ifPresent(modelGenerator::setDefaultExcludedFieldTypes);
+        return modelGenerator;
+    }
 }
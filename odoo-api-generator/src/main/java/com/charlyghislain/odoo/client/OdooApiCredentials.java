@@ -0,0 +1,14 @@
+package com.charlyghislain.odoo.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OdooApiCredentials {
+
+    private final String apiUser;
+    // Api key or password
+    private final String apiPassword;
+
+}
@@ -0,0 +1,94 @@
+package com.charlyghislain.odoo.client;
+
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares a single in-flight call between concurrent callers using identical parameters.
+ * <p>
+ * The first caller performs the call on its own thread, others wait for its result. The result is shared and must
+ * not be modified.
+ * <p>
+ * Writes increment a generation per model, which callers include in their key, so that a read issued after a write
+ * does not join a read started before it.
+ */
+public class OdooCallCoalescer {
+
+    private final Map<Object, CompletableFuture<Object>> inFlightCalls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> writeGenerations = new ConcurrentHashMap<>();
+    // Callers waiting for the result of a call made by another
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    public Object execute(Object callKey, OdooCall call) throws XmlRpcException {
+        CompletableFuture<Object> callFuture = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightCall = inFlightCalls.putIfAbsent(callKey, callFuture);
+        if (inFlightCall != null) {
+            waitingCount.incrementAndGet();
+            try {
+                return awaitResult(inFlightCall);
+            } finally {
+                waitingCount.decrementAndGet();
+            }
+        }
+
+        try {
+            Object result = call.execute();
+            callFuture.complete(result);
+            return result;
+        } catch (XmlRpcException | RuntimeException | Error e) {
+            callFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightCalls.remove(callKey, callFuture);
+        }
+    }
+
+    public long getWriteGeneration(String modelName) {
+        AtomicLong writeGeneration = writeGenerations.get(modelName);
+        return writeGeneration == null ? 0 : writeGeneration.get();
+    }
+
+    /**
+     * Called when a write on the model starts and again once it completed, so that reads started during the write
+     * are not shared with reads issued after it either.
+     */
+    public void incrementWriteGeneration(String modelName) {
+        writeGenerations.computeIfAbsent(modelName, name -> new AtomicLong())
+                .incrementAndGet();
+    }
+
+    public int getInFlightCount() {
+        return inFlightCalls.size();
+    }
+
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    private Object awaitResult(CompletableFuture<Object> inFlightCall) throws XmlRpcException {
+        try {
+            return inFlightCall.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof XmlRpcException) {
+                throw (XmlRpcException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface OdooCall {
+        Object execute() throws XmlRpcException;
+    }
+}
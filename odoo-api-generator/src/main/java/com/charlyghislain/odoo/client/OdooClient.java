@@ -1,57 +1,196 @@
 package com.charlyghislain.odoo.client;
 
+import com.charlyghislain.odoo.client.fields.FieldMetadataInterner;
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.fields.FieldModelSnapshot;
+import com.charlyghislain.odoo.client.metrics.OdooCallMetrics;
+import com.charlyghislain.odoo.client.transport.JsonRpcOdooTransport;
+import com.charlyghislain.odoo.client.transport.MeteredOdooTransport;
+import com.charlyghislain.odoo.client.transport.OdooHttpTransportFactory;
+import com.charlyghislain.odoo.client.transport.OdooTransport;
+import com.charlyghislain.odoo.client.transport.PooledHttpTransportFactory;
+import com.charlyghislain.odoo.client.transport.XmlRpcOdooTransport;
 import lombok.Getter;
 import org.apache.xmlrpc.XmlRpcException;
-import org.apache.xmlrpc.client.XmlRpcClient;
 
-import java.net.MalformedURLException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public class OdooClient {
+public class OdooClient implements AutoCloseable {
 
     @Getter
     private final OdooClientConfig clientConfig;
     @Getter
-    private final XmlRpcClient xmlRpcClient;
+    private final OdooTransport transport;
+    @Getter
+    private final OdooCallMetrics callMetrics = new OdooCallMetrics();
+    @Getter
+    private final FieldMetadataInterner fieldMetadataInterner;
 
+    private final OdooSessionCache sessionCache;
+    private final OdooModelClientRegistry modelClientRegistry;
+    @Getter
+    private final OdooHttpTransportFactory httpTransportFactory;
+    // Fetches the next search_read pages while the current ones are consumed
+    @Getter
+    private final ExecutorService prefetchExecutor;
     @Getter
-    private Integer authenticatedUserId = null;
-    private OdooCommonClient commonClient = null;
+    private final OdooCallCoalescer callCoalescer = new OdooCallCoalescer();
+    @Getter
+    private final OdooReadBatcher readBatcher;
+    // Fields served before their first fields_get call
+    private volatile FieldModelSnapshot fieldsSnapshot;
+    // Few threads, so that revalidating the snapshot does not flood odoo
+    private final ExecutorService revalidationExecutor;
 
     public OdooClient(OdooClientConfig clientConfig) {
         this.clientConfig = clientConfig;
-        this.xmlRpcClient = new XmlRpcClient();
+        this.httpTransportFactory = Optional.ofNullable(clientConfig.getHttpTransportFactory())
+                .orElseGet(() -> new PooledHttpTransportFactory(clientConfig));
+        OdooTransport protocolTransport = createTransport(clientConfig, httpTransportFactory);
+        this.transport = clientConfig.isCallMetricsEnabled()
+                ? new MeteredOdooTransport(protocolTransport, callMetrics)
+                : protocolTransport;
+        List<OdooApiCredentials> apiUsers = clientConfig.getApiUserPool().isEmpty()
+                ? List.of(new OdooApiCredentials(clientConfig.getApiUser(), clientConfig.getApiPassword()))
+                : clientConfig.getApiUserPool();
+        this.sessionCache = new OdooSessionCache(new OdooCommonClient(this), apiUsers,
+                clientConfig.getSessionRefreshInterval(), clientConfig.getSessionTtl());
+        this.fieldMetadataInterner = clientConfig.isInternFieldMetadata()
+                ? new FieldMetadataInterner()
+                : FieldMetadataInterner.DISABLED;
+        this.modelClientRegistry = new OdooModelClientRegistry(this, clientConfig.getModelClientCacheSize());
+        this.readBatcher = new OdooReadBatcher(clientConfig.getReadBatchWindow(), clientConfig.getReadBatchMaxSize());
+        this.prefetchExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "odoo-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.revalidationExecutor = Executors.newFixedThreadPool(clientConfig.getFieldsRevalidationParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "odoo-fields-revalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
+    /**
+     * Loads the field definitions from a snapshot file written by {@link #writeFieldsSnapshot(Path)}. Model clients
+     * use them instead of calling fields_get, and fetch them again in the background.
+     */
+    public void loadFieldsSnapshot(Path snapshotFile) throws IOException {
+        this.fieldsSnapshot = FieldModelSnapshot.open(snapshotFile, fieldMetadataInterner);
     }
 
-    public OdooModelClient getModelClient(String modelName) {
+    /**
+     * Writes the fields of the models loaded by this client, and the ones of the loaded snapshot not used since.
+     */
+    public void writeFieldsSnapshot(Path snapshotFile) throws IOException {
+        Map<String, Map<String, FieldModel>> modelFields = new TreeMap<>();
+        FieldModelSnapshot loadedSnapshot = this.fieldsSnapshot;
+        if (loadedSnapshot != null) {
+            loadedSnapshot.getModelNames()
+                    .forEach(modelName -> Optional.ofNullable(getSnapshotFields(modelName))
+                            .ifPresent(fields -> modelFields.put(modelName, fields)));
+        }
+        for (OdooModelClient modelClient : modelClientRegistry.getModelClients()) {
+            Optional.ofNullable(modelClient.getLoadedFields())
+                    .ifPresent(fields -> modelFields.put(modelClient.getOdooModelName(), fields));
+        }
+        FieldModelSnapshot.write(snapshotFile, modelFields);
+    }
+
+    /**
+     * @return the fields of the model in the loaded snapshot, or null when they have to be fetched
+     */
+    Map<String, FieldModel> getSnapshotFields(String modelName) {
+        FieldModelSnapshot loadedSnapshot = this.fieldsSnapshot;
+        if (loadedSnapshot == null) {
+            return null;
+        }
         try {
-            OdooModelClient odooModelClient = new OdooModelClient(this, modelName);
-            return odooModelClient;
-        } catch (MalformedURLException e) {
-            throw new OdooRuntimeError("Unable to create model client", e);
+            return loadedSnapshot.getFields(modelName);
+        } catch (OdooRuntimeError e) {
+            System.err.println("Unable to read the fields of " + modelName + " from the snapshot, fetching them: " + e.getMessage());
+            return null;
         }
     }
 
+    void revalidateFields(OdooModelClient modelClient) {
+        revalidationExecutor.execute(() -> {
+            try {
+                modelClient.revalidateFields();
+            } catch (Exception e) {
+                System.err.println("Unable to revalidate the fields of " + modelClient.getOdooModelName() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public OdooModelClient getModelClient(String modelName) {
+        return modelClientRegistry.getModelClient(modelName);
+    }
+
     public boolean isAuthenticated() {
-        return this.authenticatedUserId != null;
+        return sessionCache.hasSession();
     }
 
     public int getAuthenticatedUserId() {
-        if (!isAuthenticated()) {
-            this.authenticatedUserId = authenticate();
-        }
-        return this.authenticatedUserId;
+        return sessionCache.getSession().getUserId();
     }
 
-    private int authenticate() {
+    public OdooSession getSession() {
+        return sessionCache.getSession();
+    }
+
+    /**
+     * Performs the call with a session, authenticating again and retrying once when odoo denies access to it.
+     */
+    public <T> T executeWithSession(OdooSessionCall<T> call) throws XmlRpcException {
+        OdooSession session = sessionCache.getSession();
         try {
-            if (this.commonClient == null) {
-                this.commonClient = new OdooCommonClient(this);
+            return call.execute(session);
+        } catch (XmlRpcException e) {
+            if (!isAccessDenied(e)) {
+                throw e;
             }
-            return this.commonClient.authenticate();
-        } catch (MalformedURLException | XmlRpcException e) {
-            throw new OdooRuntimeError(e);
+            sessionCache.invalidate(session);
+            return call.execute(sessionCache.getSession());
+        }
+    }
+
+    private static boolean isAccessDenied(XmlRpcException e) {
+        String message = e.getMessage();
+        return e.code == OdooXmlRpcConstants.FAULT_CODE_ACCESS_DENIED
+                || (message != null && (message.contains("AccessDenied") || message.contains("Access Denied")));
+    }
+
+    private static OdooTransport createTransport(OdooClientConfig clientConfig, OdooHttpTransportFactory httpTransportFactory) {
+        switch (clientConfig.getProtocol()) {
+            case XML_RPC:
+                return new XmlRpcOdooTransport(clientConfig, httpTransportFactory);
+            case JSON_RPC:
+                return new JsonRpcOdooTransport(clientConfig, httpTransportFactory);
+            default:
+                throw new OdooRuntimeError("Unhandled protocol " + clientConfig.getProtocol());
         }
     }
 
+    @Override
+    public void close() {
+        prefetchExecutor.shutdownNow();
+        revalidationExecutor.shutdownNow();
+        readBatcher.close();
+        sessionCache.close();
+        httpTransportFactory.close();
+    }
+
+    @FunctionalInterface
+    public interface OdooSessionCall<T> {
+        T execute(OdooSession session) throws XmlRpcException;
+    }
 }
@@ -1,8 +1,14 @@
 package com.charlyghislain.odoo.client;
 
+import com.charlyghislain.odoo.client.transport.OdooHttpTransportFactory;
+import com.charlyghislain.odoo.client.transport.OdooTransportProtocol;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @Setter
 public class OdooClientConfig {
@@ -11,8 +17,50 @@ public class OdooClientConfig {
     private String apiDb;
     private String apiPassword;
     private String apiUser;
+    // Api users to spread the calls over. When empty, apiUser and apiPassword are used
+    private List<OdooApiCredentials> apiUserPool = new ArrayList<>();
+    // Sessions are renewed in the background after the refresh interval, and before use after the ttl
+    private Duration sessionRefreshInterval = Duration.ofMinutes(30);
+    private Duration sessionTtl = Duration.ofHours(1);
+    // Maximum number of model clients (and their field definitions) kept in memory
+    private int modelClientCacheSize = 512;
+    // Concurrent fields_get calls revalidating the fields loaded from a snapshot
+    private int fieldsRevalidationParallelism = 2;
+    // Share the strings and lists repeated across the field definitions of all models
+    private boolean internFieldMetadata = true;
+    // Records fetched per search_read call when streaming whole result sets
+    private int searchPageSize = 500;
+    // Share a single request between concurrent identical read, search, search_read and fields_get calls
+    private boolean coalesceReadCalls = true;
+    // Single record reads are collected during this window and sent as a single read call. Zero disables batching
+    private Duration readBatchWindow = Duration.ofMillis(2);
+    private int readBatchMaxSize = 100;
+
+    // Record latencies and counts of the calls per model and method
+    private boolean callMetricsEnabled = true;
+
+    private OdooTransportProtocol protocol = OdooTransportProtocol.XML_RPC;
+    // Http layer. When unset, a pooled transport is created using the settings below
+    private OdooHttpTransportFactory httpTransportFactory;
+    private int httpMaxConnections = 64;
+    private int httpMaxConnectionsPerHost = 16;
+    private Duration httpIdleConnectionTimeout = Duration.ofSeconds(30);
+    // Zero means no timeout
+    private Duration httpConnectTimeout = Duration.ofSeconds(10);
+    private Duration httpReadTimeout = Duration.ZERO;
+    // Ask the server for gzip-compressed responses
+    private boolean gzipResponses = false;
+    // Compress requests, the server must accept gzip-encoded bodies
+    private boolean gzipRequests = false;
 
     @Deprecated //FIXME
     private Integer apiUserId;
 
+    public void setSearchPageSize(int searchPageSize) {
+        if (searchPageSize < 1) {
+            throw new IllegalArgumentException("Invalid search page size " + searchPageSize);
+        }
+        this.searchPageSize = searchPageSize;
+    }
+
 }
@@ -0,0 +1,81 @@
+package com.charlyghislain.odoo.client;
+
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+import org.apache.xmlrpc.client.XmlRpcHttpTransportException;
+
+import java.io.IOException;
+
+/**
+ * Kind of failure of an odoo call, told from the xml-rpc fault code or the json-rpc exception name.
+ */
+public enum OdooFaultKind {
+    /**
+     * No odoo fault was received: connection, timeout, http error or unreadable response.
+     */
+    TRANSPORT,
+    /**
+     * A record of the call does not exist.
+     */
+    MISSING_RECORD,
+    /**
+     * The user may not access a record of the call.
+     */
+    ACCESS_ERROR,
+    /**
+     * The credentials were refused.
+     */
+    ACCESS_DENIED,
+    /**
+     * Odoo refused the call or its values, such as with a UserError or a ValidationError.
+     */
+    USER_ERROR,
+    /**
+     * Any other exception raised by odoo.
+     */
+    SERVER_ERROR;
+
+    // Fault codes used by odoo over xml-rpc
+    private static final int FAULT_CODE_WARNING = 2;
+    private static final int FAULT_CODE_ACCESS_DENIED = 3;
+    private static final int FAULT_CODE_ACCESS_ERROR = 4;
+    // Xml-rpc faults do not name the exception, and a MissingError is a warning like any UserError
+    private static final String MISSING_RECORD_MESSAGE = "does not exist or has been deleted";
+    private static final String EXCEPTION_NAME_PREFIX = "odoo.exceptions.";
+
+    /**
+     * @return whether the failure concerns some records only, so that the call may succeed for other ids
+     */
+    public boolean isRecordFault() {
+        return this == MISSING_RECORD || this == ACCESS_ERROR;
+    }
+
+    public static OdooFaultKind of(Throwable error) {
+        XmlRpcException fault = null;
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof XmlRpcClientException
+                    || cause instanceof XmlRpcHttpTransportException) {
+                return TRANSPORT;
+            }
+            if (fault == null && cause instanceof XmlRpcException) {
+                fault = (XmlRpcException) cause;
+            }
+        }
+        // Odoo faults always have a code, exceptions created by the client do not
+        if (fault == null || fault.code == 0) {
+            return TRANSPORT;
+        }
+
+        String message = String.valueOf(fault.getMessage());
+        if (message.startsWith(EXCEPTION_NAME_PREFIX + "MissingError") || message.contains(MISSING_RECORD_MESSAGE)) {
+            return MISSING_RECORD;
+        } else if (fault.code == FAULT_CODE_ACCESS_ERROR || message.startsWith(EXCEPTION_NAME_PREFIX + "AccessError")) {
+            return ACCESS_ERROR;
+        } else if (fault.code == FAULT_CODE_ACCESS_DENIED || message.startsWith(EXCEPTION_NAME_PREFIX + "AccessDenied")) {
+            return ACCESS_DENIED;
+        } else if (fault.code == FAULT_CODE_WARNING || message.startsWith(EXCEPTION_NAME_PREFIX)) {
+            return USER_ERROR;
+        }
+        return SERVER_ERROR;
+    }
+}
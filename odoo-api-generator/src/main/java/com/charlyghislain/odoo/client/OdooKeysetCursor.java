@@ -0,0 +1,35 @@
+package com.charlyghislain.odoo.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination, wrapping the last id seen by the client.
+ */
+public class OdooKeysetCursor {
+
+    private static final String PREFIX = "id:";
+
+    public static String encode(int lastSeenId) {
+        byte[] cursorBytes = (PREFIX + lastSeenId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursorBytes);
+    }
+
+    /**
+     * @return the last id seen, or 0 for a null cursor
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String cursorString = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!cursorString.startsWith(PREFIX)) {
+                throw new OdooRuntimeError("Invalid cursor " + cursor);
+            }
+            return Integer.parseInt(cursorString.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new OdooRuntimeError("Invalid cursor " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.charlyghislain.odoo.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class OdooKeysetPage {
+
+    private List<Map<Object, Object>> records;
+    // Null on the last page
+    private String nextCursor;
+
+}
@@ -1,47 +1,100 @@
 package com.charlyghislain.odoo.client;
 
+import com.charlyghislain.odoo.client.fields.FieldMetadataInterner;
 import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.record.OdooRecordDecoder;
+import com.charlyghislain.odoo.client.stream.OdooRecordIterator;
+import com.charlyghislain.odoo.client.transport.OdooService;
+import lombok.Getter;
 import org.apache.xmlrpc.XmlRpcException;
-import org.apache.xmlrpc.client.XmlRpcClient;
-import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
 
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class OdooModelClient {
 
     private final OdooClient odooClient;
+    @Getter
     private final String odooModelName;
-    private final XmlRpcClientConfigImpl endpointConfig;
 
-    private Map<String, FieldModel> fieldModels;
+    private volatile Map<String, FieldModel> fieldModels;
+    private volatile OdooRecordDecoder recordDecoder;
 
-    public OdooModelClient(OdooClient odooClient, String odooModelName) throws MalformedURLException {
+    public OdooModelClient(OdooClient odooClient, String odooModelName) {
         this.odooClient = odooClient;
         this.odooModelName = odooModelName;
-        this.endpointConfig = this.createConfig();
     }
 
     public Map<String, FieldModel> getFields() {
-        if (this.fieldModels != null) {
+        Map<String, FieldModel> loadedFieldModels = this.fieldModels;
+        if (loadedFieldModels != null) {
+            return loadedFieldModels;
+        }
+        // Concurrent callers wait for a single fields_get call
+        synchronized (this) {
+            if (this.fieldModels == null) {
+                Map<String, FieldModel> snapshotFields = odooClient.getSnapshotFields(odooModelName);
+                if (snapshotFields != null) {
+                    this.fieldModels = snapshotFields;
+                    odooClient.revalidateFields(this);
+                } else {
+                    this.fieldModels = fetchFields();
+                }
+            }
             return this.fieldModels;
         }
+    }
+
+    /**
+     * @return the fields if they have been loaded, null otherwise
+     */
+    public Map<String, FieldModel> getLoadedFields() {
+        return fieldModels;
+    }
+
+    /**
+     * Fetches the fields again, replacing the current ones and their record decoder.
+     */
+    void revalidateFields() {
+        Map<String, FieldModel> fetchedFields = fetchFields();
+        synchronized (this) {
+            this.fieldModels = fetchedFields;
+            this.recordDecoder = null;
+        }
+    }
 
+    /**
+     * @return a decoder for records of this model, compiled once from its field definitions
+     */
+    public OdooRecordDecoder getRecordDecoder() {
+        OdooRecordDecoder compiledDecoder = this.recordDecoder;
+        if (compiledDecoder != null) {
+            return compiledDecoder;
+        }
+        getFields();
+        synchronized (this) {
+            if (this.recordDecoder == null) {
+                // The fields may have been revalidated meanwhile
+                this.recordDecoder = new OdooRecordDecoder(odooModelName, this.fieldModels);
+            }
+            return this.recordDecoder;
+        }
+    }
+
+    private Map<String, FieldModel> fetchFields() {
         try {
-            XmlRpcClient xmlRpcClient = odooClient.getXmlRpcClient();
-            OdooClientConfig clientConfig = odooClient.getClientConfig();
-            String apiDb = clientConfig.getApiDb();
-            String apiPassword = clientConfig.getApiPassword();
-            int authenticatedUserId = odooClient.getAuthenticatedUserId();
-
-            List<Object> fieldGetParams = List.of(
-                    apiDb, authenticatedUserId, apiPassword, odooModelName,
-                    OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_FIELDS_GET,
+            Object response = executeReadCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_FIELDS_GET,
                     // Fields names in map: {'attributes': ['field1', 'field3']}
                     List.of(
 //                            List.of(
@@ -49,36 +102,129 @@ public class OdooModelClient {
 //                            )
                     ), Map.of()
             );
-            Object response = xmlRpcClient.execute(endpointConfig, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE, fieldGetParams);
-            this.fieldModels = parseFields(response);
-            return this.fieldModels;
+            return parseFields(response);
         } catch (XmlRpcException e) {
             throw new OdooRuntimeError("Unable to list fields for " + odooModelName + " : " + e.getMessage(), e);
         }
     }
 
     public List<Object> searchRead(List<Object> filters, int offset, int limit, List<String> fields) throws XmlRpcException {
-        Map<String, Object> parameters = new HashMap<>(Map.of(
-                "offset", offset,
-                "limit", limit
-        ));
-        if (!fields.isEmpty()) {
-            parameters.put("fields", fields);
+        try {
+            Map<String, Object> searchReadKwargs = createSearchReadKwargs(offset, limit, fields, null);
+            Object response = executeReadCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_SEARCH_READ, filters, searchReadKwargs);
+            Object[] responseArray = OdooParserUtils.parseArray(response, "Search read response");
+            return Arrays.asList(responseArray);
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError("Unable to search read " + odooModelName + " : " + e.getMessage(), e);
         }
+    }
 
+    /**
+     * Streaming variant of {@link #searchRead(List, int, int, List)}: each record is passed to the consumer as soon
+     * as it has been parsed, instead of parsing the whole response first.
+     */
+    public void searchRead(List<Object> filters, int offset, int limit, List<String> fields,
+                           Consumer<Map<Object, Object>> recordConsumer) throws XmlRpcException {
+        try (OdooRecordIterator recordIterator = searchReadIterator(filters, offset, limit, fields)) {
+            recordIterator.forEachRemaining(recordConsumer);
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #searchRead(List, int, int, List)}, parsing records while iterating.
+     * The iterator must be closed to release the connection.
+     */
+    public OdooRecordIterator searchReadIterator(List<Object> filters, int offset, int limit, List<String> fields) throws XmlRpcException {
         try {
-            XmlRpcClient xmlRpcClient = odooClient.getXmlRpcClient();
-            OdooClientConfig clientConfig = odooClient.getClientConfig();
-            String apiDb = clientConfig.getApiDb();
-            String apiPassword = clientConfig.getApiPassword();
-            int authenticatedUserId = odooClient.getAuthenticatedUserId();
-
-            List<Object> searchReadParams = List.of(
-                    apiDb, authenticatedUserId, apiPassword, odooModelName,
-                    OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_SEARCH_READ,
-                    filters, parameters
-            );
-            Object response = xmlRpcClient.execute(endpointConfig, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE, searchReadParams);
+            Map<String, Object> searchReadKwargs = createSearchReadKwargs(offset, limit, fields, null);
+            return odooClient.executeWithSession(session -> odooClient.getTransport().executeRecords(OdooService.OBJECT, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE,
+                    createExecuteParams(session, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_SEARCH_READ, filters, searchReadKwargs)));
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError("Unable to search read " + odooModelName + " : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lazily streams all records matching the filters, fetching pages of the configured search page size.
+     * The stream should be closed when not fully consumed, to cancel the pending prefetch.
+     */
+    public Stream<Map<Object, Object>> searchReadAll(List<Object> filters, List<String> fields) {
+        int pageSize = odooClient.getClientConfig().getSearchPageSize();
+        return searchReadAll(filters, fields, pageSize);
+    }
+
+    public Stream<Map<Object, Object>> searchReadAll(List<Object> filters, List<String> fields, int pageSize) {
+        OdooSearchReadSpliterator.PageFetcher pageFetcher = (pageIndex, previousPage) -> {
+            try {
+                return searchRead(filters, pageIndex * pageSize, pageSize, fields);
+            } catch (XmlRpcException e) {
+                throw new OdooRuntimeError(e);
+            }
+        };
+        return streamPages(pageFetcher, pageSize);
+    }
+
+    /**
+     * Reads the page of records following the cursor, ordered by id.
+     * <p>
+     * Unlike offset pagination, the domain is restricted to ids above the last one seen, so that the database does
+     * not have to skip previous rows and the cost of a page does not grow with its depth.
+     *
+     * @param domain the search domain, eg: [["state", "=", "done"]]
+     * @param cursor a cursor returned with a previous page, or null for the first page
+     * @param limit the maximum number of records of the page, at least 1
+     */
+    public OdooKeysetPage searchReadAfter(List<Object> domain, String cursor, int limit, List<String> fields) throws XmlRpcException {
+        // Odoo reads all the records with a limit of 0
+        if (limit < 1) {
+            throw new IllegalArgumentException("Invalid limit " + limit);
+        }
+        int lastSeenId = OdooKeysetCursor.decode(cursor);
+        List<Object> records = searchReadAfterId(domain, lastSeenId, limit, fields);
+        List<Map<Object, Object>> recordMaps = records.stream()
+                .map(r -> OdooParserUtils.parseMap(r, "Search read record"))
+                .collect(Collectors.toList());
+        String nextCursor = recordMaps.size() < limit
+                ? null
+                : OdooKeysetCursor.encode(parseRecordId(recordMaps.get(recordMaps.size() - 1)));
+        return new OdooKeysetPage(recordMaps, nextCursor);
+    }
+
+    /**
+     * Keyset variant of {@link #searchReadAll(List, List, int)}.
+     *
+     * @param domain the search domain, eg: [["state", "=", "done"]]
+     */
+    public Stream<Map<Object, Object>> searchReadAllAfter(List<Object> domain, List<String> fields, int pageSize) {
+        OdooSearchReadSpliterator.PageFetcher pageFetcher = (pageIndex, previousPage) -> {
+            int lastSeenId = previousPage.isEmpty()
+                    ? 0
+                    : parseRecordId(previousPage.get(previousPage.size() - 1));
+            try {
+                return searchReadAfterId(domain, lastSeenId, pageSize, fields);
+            } catch (XmlRpcException e) {
+                throw new OdooRuntimeError(e);
+            }
+        };
+        return streamPages(pageFetcher, pageSize);
+    }
+
+    private Stream<Map<Object, Object>> streamPages(OdooSearchReadSpliterator.PageFetcher pageFetcher, int pageSize) {
+        OdooSearchReadSpliterator spliterator = new OdooSearchReadSpliterator(pageFetcher, pageSize, odooClient.getPrefetchExecutor());
+        return StreamSupport.stream(spliterator, false)
+                .onClose(spliterator::cancel);
+    }
+
+    private List<Object> searchReadAfterId(List<Object> domain, int lastSeenId, int limit, List<String> fields) throws XmlRpcException {
+        List<Object> keysetDomain = new ArrayList<>(domain);
+        keysetDomain.add(List.of("id", ">", lastSeenId));
+        List<String> keysetFields = new ArrayList<>(fields);
+        if (!keysetFields.isEmpty() && !keysetFields.contains("id")) {
+            keysetFields.add("id");
+        }
+        try {
+            Map<String, Object> searchReadKwargs = createSearchReadKwargs(0, limit, keysetFields, "id");
+            Object response = executeReadCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_SEARCH_READ, List.of(keysetDomain), searchReadKwargs);
             Object[] responseArray = OdooParserUtils.parseArray(response, "Search read response");
             return Arrays.asList(responseArray);
         } catch (XmlRpcException e) {
@@ -86,6 +232,25 @@ public class OdooModelClient {
         }
     }
 
+    private int parseRecordId(Object record) {
+        Map<Object, Object> recordMap = OdooParserUtils.parseMap(record, "Search read record");
+        return OdooParserUtils.parseInt(recordMap.get("id"), "Record id");
+    }
+
+    private Map<String, Object> createSearchReadKwargs(int offset, int limit, List<String> fields, String order) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "offset", offset,
+                "limit", limit
+        ));
+        if (!fields.isEmpty()) {
+            parameters.put("fields", fields);
+        }
+        if (order != null) {
+            parameters.put("order", order);
+        }
+        return parameters;
+    }
+
 
     public List<Integer> search(List<Object> filters, int offset, int limit) throws XmlRpcException {
         Map<String, Object> parameters = new HashMap<>(Map.of(
@@ -94,18 +259,7 @@ public class OdooModelClient {
         ));
 
         try {
-            XmlRpcClient xmlRpcClient = odooClient.getXmlRpcClient();
-            OdooClientConfig clientConfig = odooClient.getClientConfig();
-            String apiDb = clientConfig.getApiDb();
-            String apiPassword = clientConfig.getApiPassword();
-            int authenticatedUserId = odooClient.getAuthenticatedUserId();
-
-            List<Object> searchReadParams = List.of(
-                    apiDb, authenticatedUserId, apiPassword, odooModelName,
-                    OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_SEARCH,
-                    List.of(filters), parameters
-            );
-            Object response = xmlRpcClient.execute(endpointConfig, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE, searchReadParams);
+            Object response = executeReadCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_SEARCH, List.of(filters), parameters);
             Object[] responseArray = OdooParserUtils.parseArray(response, "Search  response");
             return Arrays.stream(responseArray)
                     .map(o -> OdooParserUtils.parseInt(o, "Search response id"))
@@ -116,36 +270,171 @@ public class OdooModelClient {
     }
 
     public Object read(int id, List<String> fields) throws XmlRpcException {
+        List<Object> records = read(List.of(id), fields);
+        if (records.size() != 1) {
+            throw new OdooRuntimeError("Unable to read " + odooModelName + " : empty response");
+        }
+        return records.get(0);
+    }
+
+    public List<Object> read(List<Integer> ids, List<String> fields) throws XmlRpcException {
         Map<String, Object> parameters = new HashMap<>();
         if (!fields.isEmpty()) {
             parameters.put("fields", fields);
         }
 
-        List<Integer> idParam = List.of(id);
-
         try {
-            XmlRpcClient xmlRpcClient = odooClient.getXmlRpcClient();
-            OdooClientConfig clientConfig = odooClient.getClientConfig();
-            String apiDb = clientConfig.getApiDb();
-            String apiPassword = clientConfig.getApiPassword();
-            int authenticatedUserId = odooClient.getAuthenticatedUserId();
-
-            List<Object> searchReadParams = List.of(
-                    apiDb, authenticatedUserId, apiPassword, odooModelName,
-                    OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_READ,
-                    idParam, parameters
-            );
-            Object response = xmlRpcClient.execute(endpointConfig, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE, searchReadParams);
+            Object response = executeReadCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_READ, List.of(ids), parameters);
             Object[] responseArray = OdooParserUtils.parseArray(response, "Read response");
-            if (responseArray.length != 1) {
-                throw new OdooRuntimeError("Unable to read " + odooModelName + " : empty response");
-            }
-            return responseArray[0];
+            return Arrays.asList(responseArray);
         } catch (XmlRpcException e) {
             throw new OdooRuntimeError("Unable to  read " + odooModelName + " : " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Streams the value of a binary field, decoding it while it is received instead of holding the response in
+     * memory. The stream must be closed to release the connection.
+     *
+     * @return the decoded value, or null when the field is not set
+     */
+    public InputStream readBinary(int id, String fieldName) throws XmlRpcException {
+        Map<String, Object> readKwargs = Map.of("fields", List.of(fieldName));
+        OdooRecordIterator recordIterator;
+        try {
+            recordIterator = odooClient.executeWithSession(session -> odooClient.getTransport().executeRecords(OdooService.OBJECT, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE,
+                    createExecuteParams(session, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_READ, List.of(List.of(id)), readKwargs)));
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError("Unable to read " + odooModelName + " : " + e.getMessage(), e);
+        }
+        try {
+            InputStream valueStream = recordIterator.hasNext() ? recordIterator.nextBinaryValue(fieldName) : null;
+            if (valueStream == null) {
+                recordIterator.close();
+                return null;
+            }
+            return new FilterInputStream(valueStream) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        recordIterator.close();
+                    }
+                }
+            };
+        } catch (RuntimeException e) {
+            recordIterator.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a single record. Concurrent reads of this model with the same fields are sent as a single read call
+     * when batching is enabled.
+     *
+     * @return the record, or null when it does not exist, whether odoo leaves it out of the response or raises a
+     * MissingError, with or without batching
+     */
+    public Map<Object, Object> readBatched(int id, List<String> fields) throws XmlRpcException {
+        if (odooClient.getClientConfig().getReadBatchWindow().isZero()) {
+            return readSingle(id, fields);
+        }
+        try {
+            return odooClient.getReadBatcher().read(this, id, fields).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof XmlRpcException) {
+                throw (XmlRpcException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OdooRuntimeError("Unable to read " + odooModelName + " : " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * @return the record, or null when it does not exist
+     */
+    Map<Object, Object> readSingle(int id, List<String> fields) throws XmlRpcException {
+        try {
+            List<Object> records = read(List.of(id), fields);
+            return records.isEmpty() ? null : OdooParserUtils.parseMap(records.get(0), "Read record");
+        } catch (OdooRuntimeError e) {
+            if (OdooFaultKind.of(e) == OdooFaultKind.MISSING_RECORD) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    public int create(Map<String, Object> values) throws XmlRpcException {
+        try {
+            Object response = executeWriteCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_CREATE, List.of(values), Map.of());
+            return OdooParserUtils.parseInt(response, "Create response id");
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError("Unable to create " + odooModelName + " : " + e.getMessage(), e);
+        }
+    }
+
+    public boolean write(int id, Map<String, Object> values) throws XmlRpcException {
+        try {
+            Object response = executeWriteCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_WRITE, List.of(List.of(id), values), Map.of());
+            return OdooParserUtils.parseBoolean(response, "Write response");
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError("Unable to write " + odooModelName + " : " + e.getMessage(), e);
+        }
+    }
+
+    public boolean unlink(int id) throws XmlRpcException {
+        try {
+            Object response = executeWriteCall(OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE_ARG_UNLINK, List.of(List.of(id)), Map.of());
+            return OdooParserUtils.parseBoolean(response, "Unlink response");
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError("Unable to unlink " + odooModelName + " : " + e.getMessage(), e);
+        }
+    }
+
+    private Object executeCall(String method, List<Object> args, Map<String, Object> kwargs) throws XmlRpcException {
+        return odooClient.executeWithSession(session -> odooClient.getTransport().execute(OdooService.OBJECT, OdooXmlRpcConstants.OBJECTS_METHOD_EXECUTE,
+                createExecuteParams(session, method, args, kwargs)));
+    }
+
+    /**
+     * Executes a call without side effects, sharing the response with identical concurrent calls when enabled.
+     */
+    private Object executeReadCall(String method, List<Object> args, Map<String, Object> kwargs) throws XmlRpcException {
+        if (!odooClient.getClientConfig().isCoalesceReadCalls()) {
+            return executeCall(method, args, kwargs);
+        }
+        // The session is not part of the key, so that calls made by pooled users are shared as well
+        OdooCallCoalescer callCoalescer = odooClient.getCallCoalescer();
+        long writeGeneration = callCoalescer.getWriteGeneration(odooModelName);
+        List<Object> callKey = List.of(odooModelName, writeGeneration, method, args, kwargs);
+        return callCoalescer.execute(callKey, () -> executeCall(method, args, kwargs));
+    }
+
+    /**
+     * Executes a call modifying records, after which reads of this model no longer join the calls in flight.
+     */
+    private Object executeWriteCall(String method, List<Object> args, Map<String, Object> kwargs) throws XmlRpcException {
+        OdooCallCoalescer callCoalescer = odooClient.getCallCoalescer();
+        callCoalescer.incrementWriteGeneration(odooModelName);
+        try {
+            return executeCall(method, args, kwargs);
+        } finally {
+            callCoalescer.incrementWriteGeneration(odooModelName);
+        }
+    }
+
+    private List<Object> createExecuteParams(OdooSession session, String method, List<Object> args, Map<String, Object> kwargs) {
+        String apiDb = odooClient.getClientConfig().getApiDb();
+        return List.of(
+                apiDb, session.getUserId(), session.getPassword(), odooModelName,
+                method, args, kwargs
+        );
+    }
+
     private Map<String, FieldModel> parseFields(Object response) {
         if (Map.class.isAssignableFrom(response.getClass())) {
             Map<Object, Object> responseMap = (Map<Object, Object>) response;
@@ -162,21 +451,12 @@ public class OdooModelClient {
 
     private Map.Entry<String, FieldModel> parseFieldModel(Map.Entry<Object, Object> responseEntry) {
         Object key = responseEntry.getKey();
-        String keyString = OdooParserUtils.parseString(key, "field model response key");
+        FieldMetadataInterner interner = odooClient.getFieldMetadataInterner();
+        String keyString = interner.intern(OdooParserUtils.parseString(key, "field model response key"));
         Object value = responseEntry.getValue();
         Map<Object, Object> valueMap = OdooParserUtils.parseMap(value, "field model response value");
-        FieldModel fieldModel = FieldModel.parseValueMap(valueMap);
+        FieldModel fieldModel = FieldModel.parseValueMap(valueMap, interner);
         return Map.entry(keyString, fieldModel);
     }
 
-    private XmlRpcClientConfigImpl createConfig() throws MalformedURLException {
-        String apiURl = odooClient.getClientConfig().getApiURl();
-        URL endpointUrl = new URL(apiURl + OdooXmlRpcConstants.OBJECTS_ENDPOINT_PATH);
-
-        XmlRpcClientConfigImpl commonConfig = new XmlRpcClientConfigImpl();
-        commonConfig.setEnabledForExtensions(true);
-        commonConfig.setServerURL(endpointUrl);
-        return commonConfig;
-    }
-
 }
@@ -0,0 +1,61 @@
+package com.charlyghislain.odoo.client;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, thread-safe cache of model clients, evicting the least recently used one.
+ * <p>
+ * Keeping the client instance around also keeps its fields_get cache. Lookups take no lock. Eviction is approximate:
+ * concurrent lookups may briefly exceed the size, or evict a client used at the same time.
+ */
+public class OdooModelClientRegistry {
+
+    private final OdooClient odooClient;
+    private final int maxSize;
+    private final Map<String, RegistryEntry> modelClients = new ConcurrentHashMap<>();
+
+    public OdooModelClientRegistry(OdooClient odooClient, int maxSize) {
+        this.odooClient = odooClient;
+        this.maxSize = maxSize;
+    }
+
+    public OdooModelClient getModelClient(String modelName) {
+        RegistryEntry entry = modelClients.get(modelName);
+        if (entry == null) {
+            entry = modelClients.computeIfAbsent(modelName, name -> new RegistryEntry(new OdooModelClient(odooClient, name)));
+            if (modelClients.size() > maxSize) {
+                evictLeastRecentlyUsed(modelName);
+            }
+        }
+        // Not a shared counter, so that lookups of different models do not contend
+        entry.lastAccess = System.nanoTime();
+        return entry.modelClient;
+    }
+
+    public List<OdooModelClient> getModelClients() {
+        return modelClients.values().stream()
+                .map(entry -> entry.modelClient)
+                .collect(Collectors.toList());
+    }
+
+    private void evictLeastRecentlyUsed(String addedModelName) {
+        modelClients.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(addedModelName))
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .ifPresent(entry -> modelClients.remove(entry.getKey(), entry.getValue()));
+    }
+
+    private static class RegistryEntry {
+        private final OdooModelClient modelClient;
+        private volatile long lastAccess;
+
+        RegistryEntry(OdooModelClient modelClient) {
+            this.modelClient = modelClient;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.charlyghislain.odoo.client;
 
 import com.charlyghislain.odoo.client.fields.ForeignKey;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
@@ -87,4 +88,41 @@ public class OdooParserUtils {
         LocalDateTime dateTime = LocalDateTime.parse(stringValue, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         return dateTime;
     }
+
+    /**
+     * Parses datetimes as sent by odoo, in utc: yyyy-MM-dd HH:mm:ss.
+     * Avoids the DateTimeFormatter machinery on the hot path.
+     */
+    public static LocalDateTime parseOdooDateTime(String value) {
+        if (value.length() != 19 || value.charAt(10) != ' ') {
+            // Tolerate the iso format as well
+            return LocalDateTime.parse(value.replace(' ', 'T'), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        return LocalDateTime.of(
+                parseDigits(value, 0, 4), parseDigits(value, 5, 7), parseDigits(value, 8, 10),
+                parseDigits(value, 11, 13), parseDigits(value, 14, 16), parseDigits(value, 17, 19)
+        );
+    }
+
+    /**
+     * Parses dates as sent by odoo: yyyy-MM-dd
+     */
+    public static LocalDate parseOdooDate(String value) {
+        if (value.length() != 10) {
+            return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+        }
+        return LocalDate.of(parseDigits(value, 0, 4), parseDigits(value, 5, 7), parseDigits(value, 8, 10));
+    }
+
+    private static int parseDigits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new OdooRuntimeError("Expected a digit at position " + i + " in " + value);
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,160 @@
+package com.charlyghislain.odoo.client;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects single record reads of the same model and fields during a short window, and sends them as a single read
+ * call with all their ids.
+ */
+public class OdooReadBatcher implements AutoCloseable {
+
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final Map<BatchKey, PendingBatch> pendingBatches = new HashMap<>();
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService readExecutor;
+
+    public OdooReadBatcher(Duration batchWindow, int maxBatchSize) {
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "odoo-read-batch-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.readExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "odoo-read-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the record, or null when it does not exist
+     */
+    public CompletableFuture<Map<Object, Object>> read(OdooModelClient modelClient, int id, List<String> fields) {
+        BatchKey batchKey = new BatchKey(modelClient.getOdooModelName(), List.copyOf(fields));
+        CompletableFuture<Map<Object, Object>> recordFuture = new CompletableFuture<>();
+        PendingBatch fullBatch = null;
+        synchronized (pendingBatches) {
+            PendingBatch batch = pendingBatches.get(batchKey);
+            if (batch == null) {
+                PendingBatch newBatch = new PendingBatch(modelClient, batchKey.fields);
+                pendingBatches.put(batchKey, newBatch);
+                flushScheduler.schedule(() -> flush(batchKey, newBatch), batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+                batch = newBatch;
+            }
+            batch.add(id, recordFuture);
+            if (batch.size() >= maxBatchSize) {
+                pendingBatches.remove(batchKey);
+                fullBatch = batch;
+            }
+        }
+        if (fullBatch != null) {
+            readExecutor.execute(fullBatch::execute);
+        }
+        return recordFuture;
+    }
+
+    private void flush(BatchKey batchKey, PendingBatch batch) {
+        synchronized (pendingBatches) {
+            // Already sent when full
+            if (!pendingBatches.remove(batchKey, batch)) {
+                return;
+            }
+        }
+        readExecutor.execute(batch::execute);
+    }
+
+    @Override
+    public void close() {
+        flushScheduler.shutdownNow();
+        readExecutor.shutdownNow();
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class BatchKey {
+        private final String modelName;
+        private final List<String> fields;
+    }
+
+    private static class PendingBatch {
+        private final OdooModelClient modelClient;
+        private final List<String> fields;
+        // Concurrent reads of the same id share the record
+        private final Map<Integer, List<CompletableFuture<Map<Object, Object>>>> waitingReads = new LinkedHashMap<>();
+
+        PendingBatch(OdooModelClient modelClient, List<String> fields) {
+            this.modelClient = modelClient;
+            this.fields = fields;
+        }
+
+        void add(int id, CompletableFuture<Map<Object, Object>> recordFuture) {
+            waitingReads.computeIfAbsent(id, k -> new ArrayList<>(1)).add(recordFuture);
+        }
+
+        int size() {
+            return waitingReads.size();
+        }
+
+        void execute() {
+            List<Integer> ids = new ArrayList<>(waitingReads.keySet());
+            try {
+                List<Object> records = modelClient.read(ids, fields);
+                Map<Integer, Map<Object, Object>> recordsById = new HashMap<>();
+                for (Object record : records) {
+                    Map<Object, Object> recordMap = OdooParserUtils.parseMap(record, "Read record");
+                    recordsById.put(OdooParserUtils.parseInt(recordMap.get("id"), "Record id"), recordMap);
+                }
+                waitingReads.forEach((id, futures) -> futures.forEach(f -> f.complete(recordsById.get(id))));
+            } catch (Exception e) {
+                OdooFaultKind faultKind = OdooFaultKind.of(e);
+                if (ids.size() > 1 && faultKind.isRecordFault()) {
+                    // A single missing or inaccessible record fails the whole read. Read them one by one instead
+                    executeSingleReads();
+                } else if (faultKind == OdooFaultKind.MISSING_RECORD) {
+                    waitingReads.values().forEach(futures -> futures.forEach(f -> f.complete(null)));
+                } else {
+                    // Transport and server errors would fail every single read as well
+                    waitingReads.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+                }
+            }
+        }
+
+        private void executeSingleReads() {
+            Exception failure = null;
+            for (Map.Entry<Integer, List<CompletableFuture<Map<Object, Object>>>> waitingRead : waitingReads.entrySet()) {
+                List<CompletableFuture<Map<Object, Object>>> futures = waitingRead.getValue();
+                if (failure != null) {
+                    Exception batchFailure = failure;
+                    futures.forEach(f -> f.completeExceptionally(batchFailure));
+                    continue;
+                }
+                try {
+                    Map<Object, Object> record = modelClient.readSingle(waitingRead.getKey(), fields);
+                    futures.forEach(f -> f.complete(record));
+                } catch (Exception e) {
+                    futures.forEach(f -> f.completeExceptionally(e));
+                    if (!OdooFaultKind.of(e).isRecordFault()) {
+                        // The next reads would fail as well
+                        failure = e;
+                    }
+                }
+            }
+        }
+    }
+}
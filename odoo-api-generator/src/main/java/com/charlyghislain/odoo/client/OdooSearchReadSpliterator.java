@@ -0,0 +1,104 @@
+package com.charlyghislain.odoo.client;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Walks a whole search_read result set page by page. The next page is fetched in the background while the current
+ * one is consumed, and no more pages are fetched once the consumer stops reading.
+ */
+class OdooSearchReadSpliterator implements Spliterator<Map<Object, Object>> {
+
+    private final PageFetcher pageFetcher;
+    private final int pageSize;
+    private final Executor prefetchExecutor;
+
+    private int nextPageIndex;
+    private Iterator<Object> currentPage;
+    private boolean lastPage;
+    private CompletableFuture<List<Object>> nextPageFuture;
+
+    OdooSearchReadSpliterator(PageFetcher pageFetcher, int pageSize, Executor prefetchExecutor) {
+        // A page shorter than the page size ends the stream, which would never happen with odoo's limit 0 (no limit)
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page size " + pageSize);
+        }
+        this.pageFetcher = pageFetcher;
+        this.pageSize = pageSize;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map<Object, Object>> action) {
+        while (currentPage == null || !currentPage.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            List<Object> page = takeNextPage();
+            this.lastPage = page.size() < pageSize;
+            this.currentPage = page.iterator();
+            if (!lastPage) {
+                prefetchNextPage(page);
+            }
+        }
+        Object record = currentPage.next();
+        action.accept(OdooParserUtils.parseMap(record, "Search read record"));
+        return true;
+    }
+
+    void cancel() {
+        this.lastPage = true;
+        if (nextPageFuture != null) {
+            nextPageFuture.cancel(false);
+        }
+    }
+
+    private List<Object> takeNextPage() {
+        if (nextPageFuture == null) {
+            prefetchNextPage(List.of());
+        }
+        try {
+            return nextPageFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OdooRuntimeError(e.getCause());
+        }
+    }
+
+    private void prefetchNextPage(List<Object> previousPage) {
+        int pageIndex = nextPageIndex;
+        this.nextPageFuture = CompletableFuture.supplyAsync(() -> pageFetcher.fetchPage(pageIndex, previousPage), prefetchExecutor);
+        this.nextPageIndex += 1;
+    }
+
+    @FunctionalInterface
+    interface PageFetcher {
+        /**
+         * @param previousPage the records of the previous page, empty for the first one
+         */
+        List<Object> fetchPage(int pageIndex, List<Object> previousPage);
+    }
+
+    @Override
+    public Spliterator<Map<Object, Object>> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
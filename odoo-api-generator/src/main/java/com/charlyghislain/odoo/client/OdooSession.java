@@ -0,0 +1,20 @@
+package com.charlyghislain.odoo.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The user id authenticated for some credentials, passed along with its password on each object call.
+ */
+@Getter
+@AllArgsConstructor
+public class OdooSession {
+
+    private final OdooApiCredentials credentials;
+    private final int userId;
+    private final long authenticatedAtNanos;
+
+    public String getPassword() {
+        return credentials.getApiPassword();
+    }
+}
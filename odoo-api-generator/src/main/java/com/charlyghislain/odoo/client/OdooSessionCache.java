@@ -0,0 +1,136 @@
+package com.charlyghislain.odoo.client;
+
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe cache of the authenticated sessions of the api users.
+ * <p>
+ * Each user authenticates once, concurrent callers waiting for it. Sessions older than the refresh interval are
+ * renewed in the background while still being used, and expired sessions are renewed before being returned.
+ * Sessions are handed out in turn when several users are configured, to spread the load over them.
+ */
+public class OdooSessionCache implements AutoCloseable {
+
+    private final OdooCommonClient commonClient;
+    private final List<UserSessionHolder> userSessions;
+    private final long refreshIntervalNanos;
+    private final long ttlNanos;
+    private final AtomicInteger nextUserIndex = new AtomicInteger();
+    private final ExecutorService refreshExecutor;
+
+    public OdooSessionCache(OdooCommonClient commonClient, List<OdooApiCredentials> credentials,
+                            Duration refreshInterval, Duration ttl) {
+        if (credentials.isEmpty()) {
+            throw new OdooRuntimeError("No api user configured");
+        }
+        this.commonClient = commonClient;
+        this.userSessions = credentials.stream()
+                .map(UserSessionHolder::new)
+                .collect(Collectors.toList());
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.ttlNanos = ttl.toNanos();
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "odoo-session-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public OdooSession getSession() {
+        int userIndex = Math.floorMod(nextUserIndex.getAndIncrement(), userSessions.size());
+        return userSessions.get(userIndex).getSession();
+    }
+
+    /**
+     * Drops the session after odoo denied access to it, so that the next caller authenticates again.
+     * Sessions already renewed meanwhile are kept.
+     */
+    public void invalidate(OdooSession session) {
+        userSessions.stream()
+                .filter(holder -> holder.credentials == session.getCredentials())
+                .forEach(holder -> holder.invalidate(session));
+    }
+
+    public boolean hasSession() {
+        return userSessions.stream()
+                .anyMatch(holder -> holder.session != null);
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private OdooSession authenticate(OdooApiCredentials credentials) {
+        try {
+            int userId = commonClient.authenticate(credentials.getApiUser(), credentials.getApiPassword());
+            return new OdooSession(credentials, userId, System.nanoTime());
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError("Unable to authenticate " + credentials.getApiUser() + " : " + e.getMessage(), e);
+        }
+    }
+
+    private class UserSessionHolder {
+        private final OdooApiCredentials credentials;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile OdooSession session;
+
+        UserSessionHolder(OdooApiCredentials credentials) {
+            this.credentials = credentials;
+        }
+
+        OdooSession getSession() {
+            OdooSession currentSession = this.session;
+            if (currentSession != null) {
+                long age = System.nanoTime() - currentSession.getAuthenticatedAtNanos();
+                if (age < ttlNanos) {
+                    if (age > refreshIntervalNanos) {
+                        refreshInBackground();
+                    }
+                    return currentSession;
+                }
+            }
+            synchronized (this) {
+                currentSession = this.session;
+                if (currentSession == null || System.nanoTime() - currentSession.getAuthenticatedAtNanos() >= ttlNanos) {
+                    currentSession = authenticate(credentials);
+                    this.session = currentSession;
+                }
+                return currentSession;
+            }
+        }
+
+        synchronized void invalidate(OdooSession deniedSession) {
+            if (this.session == deniedSession) {
+                this.session = null;
+            }
+        }
+
+        private void refreshInBackground() {
+            if (!refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            refreshExecutor.execute(() -> {
+                try {
+                    OdooSession refreshedSession = authenticate(credentials);
+                    synchronized (this) {
+                        this.session = refreshedSession;
+                    }
+                } catch (RuntimeException e) {
+                    // The current session is used until it expires
+                    System.err.println("Unable to refresh the session of " + credentials.getApiUser() + ": " + e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+}
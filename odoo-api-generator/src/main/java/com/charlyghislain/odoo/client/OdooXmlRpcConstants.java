@@ -4,6 +4,8 @@ public class OdooXmlRpcConstants {
 
     public static final String COMMON_ENDPOINT_PATH = "/xmlrpc/2/common";
     public static final String COMMON_METHOD_AUTHENTICATE = "authenticate";
+    // Fault code of odoo.exceptions.AccessDenied
+    public static final int FAULT_CODE_ACCESS_DENIED = 3;
 
 
     public static final String OBJECTS_ENDPOINT_PATH = "/xmlrpc/2/object";
@@ -12,6 +14,14 @@ public class OdooXmlRpcConstants {
     public static final String OBJECTS_METHOD_EXECUTE_ARG_SEARCH_READ = "search_read";
     public static final String OBJECTS_METHOD_EXECUTE_ARG_SEARCH = "search";
     public static final String OBJECTS_METHOD_EXECUTE_ARG_READ = "read";
+    public static final String OBJECTS_METHOD_EXECUTE_ARG_CREATE = "create";
+    public static final String OBJECTS_METHOD_EXECUTE_ARG_WRITE = "write";
+    public static final String OBJECTS_METHOD_EXECUTE_ARG_UNLINK = "unlink";
+
+    public static final String JSONRPC_ENDPOINT_PATH = "/jsonrpc";
+    public static final String JSONRPC_METHOD_CALL = "call";
+    public static final String COMMON_SERVICE = "common";
+    public static final String OBJECTS_SERVICE = "object";
 
     public static final String FIELD_TYPE_DATETIME = "datetime";
 
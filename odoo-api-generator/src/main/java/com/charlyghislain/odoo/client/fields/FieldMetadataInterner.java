@@ -0,0 +1,94 @@
+package com.charlyghislain.odoo.client.fields;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shares the strings and lists repeated across field definitions, like labels, relations, groups and depends.
+ * <p>
+ * Each fields_get response is parsed into new instances, so a schema of thousands of models otherwise holds as
+ * many copies of them. Values are held weakly, and dropped once the field definitions using them are replaced.
+ * Free text such as help or domains is rarely shared, and is not interned.
+ */
+public class FieldMetadataInterner {
+
+    /**
+     * Keeps the parsed values as they are
+     */
+    public static final FieldMetadataInterner DISABLED = new FieldMetadataInterner(false);
+
+    private final boolean enabled;
+    private final Map<String, WeakReference<String>> strings = new WeakHashMap<>();
+    private final Map<List<String>, WeakReference<List<String>>> stringLists = new WeakHashMap<>();
+
+    public FieldMetadataInterner() {
+        this(true);
+    }
+
+    private FieldMetadataInterner(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String intern(String value) {
+        if (!enabled || value == null) {
+            return value;
+        }
+        synchronized (strings) {
+            String internedValue = getReferent(strings, value);
+            if (internedValue != null) {
+                return internedValue;
+            }
+            strings.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+
+    /**
+     * @return an unmodifiable list of interned strings
+     */
+    public List<String> internList(List<String> values) {
+        if (!enabled || values == null) {
+            return values;
+        }
+        if (values.isEmpty()) {
+            return List.of();
+        }
+        synchronized (stringLists) {
+            List<String> internedValues = getReferent(stringLists, values);
+            if (internedValues != null) {
+                return internedValues;
+            }
+        }
+        String[] valueArray = values.stream()
+                .map(this::intern)
+                .toArray(String[]::new);
+        List<String> newValues = List.of(valueArray);
+        synchronized (stringLists) {
+            List<String> internedValues = getReferent(stringLists, newValues);
+            if (internedValues != null) {
+                return internedValues;
+            }
+            stringLists.put(newValues, new WeakReference<>(newValues));
+            return newValues;
+        }
+    }
+
+    public int getStringCount() {
+        synchronized (strings) {
+            return strings.size();
+        }
+    }
+
+    public int getListCount() {
+        synchronized (stringLists) {
+            return stringLists.size();
+        }
+    }
+
+    private static <T> T getReferent(Map<T, WeakReference<T>> references, T value) {
+        WeakReference<T> reference = references.get(value);
+        return reference == null ? null : reference.get();
+    }
+}
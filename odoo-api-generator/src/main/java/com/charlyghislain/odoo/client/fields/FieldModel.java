@@ -46,13 +46,20 @@ public class FieldModel {
     private List<String> selectionValues;
 
     public static FieldModel parseValueMap(Map<Object, Object> valueMap) {
+        return parseValueMap(valueMap, FieldMetadataInterner.DISABLED);
+    }
+
+    /**
+     * @param interner shares the repeated strings and lists between the parsed field models
+     */
+    public static FieldModel parseValueMap(Map<Object, Object> valueMap, FieldMetadataInterner interner) {
         FieldModel fieldModel = new FieldModel();
         valueMap.entrySet()
-                .forEach(e -> parseMapEntry(e, fieldModel));
+                .forEach(e -> parseMapEntry(e, fieldModel, interner));
         return fieldModel;
     }
 
-    private static void parseMapEntry(Map.Entry<Object, Object> entry, FieldModel fieldModel) {
+    private static void parseMapEntry(Map.Entry<Object, Object> entry, FieldModel fieldModel, FieldMetadataInterner interner) {
         Object key = entry.getKey();
         Object value = entry.getValue();
         String keyString = OdooParserUtils.parseString(key, "field model map key");
@@ -97,13 +104,13 @@ public class FieldModel {
                             }
                         })
                         .collect(Collectors.toList());
-                fieldModel.setSelectionValues(selectionValues);
+                fieldModel.setSelectionValues(interner.internList(selectionValues));
                 break;
             }
 
             case "string": {
                 String stringValue = OdooParserUtils.parseString(value, "field model 'string'");
-                fieldModel.setLabel(stringValue);
+                fieldModel.setLabel(interner.intern(stringValue));
                 break;
             }
             case "depends": {
@@ -111,7 +118,7 @@ public class FieldModel {
                 List<String> stringList = Arrays.stream(object)
                         .map(o -> OdooParserUtils.parseString(o, "field model 'depends' value"))
                         .collect(Collectors.toList());
-                fieldModel.setDepends(stringList);
+                fieldModel.setDepends(interner.internList(stringList));
                 break;
             }
             case "company_dependent": {
@@ -121,7 +128,7 @@ public class FieldModel {
             }
             case "groups": {
                 String stringValue = OdooParserUtils.parseString(value, "field model 'groups'");
-                fieldModel.setGroups(stringValue);
+                fieldModel.setGroups(interner.intern(stringValue));
                 break;
             }
             case "sortable": {
@@ -158,7 +165,7 @@ public class FieldModel {
             }
             case "relation": {
                 String stringValue = OdooParserUtils.parseString(value, "field model 'relation'");
-                fieldModel.setRelation(stringValue);
+                fieldModel.setRelation(interner.intern(stringValue));
                 break;
             }
             case "change_default": {
@@ -173,7 +180,7 @@ public class FieldModel {
             }
             case "name": {
                 String stringValue = OdooParserUtils.parseString(value, "field model 'name'");
-                fieldModel.setName(stringValue);
+                fieldModel.setName(interner.intern(stringValue));
                 break;
             }
             case "translate": {
@@ -193,7 +200,7 @@ public class FieldModel {
             }
             case "relation_field": {
                 String stringvalue = OdooParserUtils.parseString(value, "field model 'relation_field'");
-                fieldModel.setRelationField(stringvalue);
+                fieldModel.setRelationField(interner.intern(stringvalue));
                 break;
             }
             case "help": {
@@ -203,7 +210,7 @@ public class FieldModel {
             }
             case "group_operator": {
                 String stringValue = OdooParserUtils.parseString(value, "field model 'group_operator'");
-                fieldModel.setGroupOperator(stringValue);
+                fieldModel.setGroupOperator(interner.intern(stringValue));
                 break;
             }
             case "size": {
@@ -213,7 +220,7 @@ public class FieldModel {
             }
             case "currency_field": {
                 String stringValue = OdooParserUtils.parseString(value, "field model 'currency_field'");
-                fieldModel.setCurencyField(stringValue);
+                fieldModel.setCurencyField(interner.intern(stringValue));
                 break;
             }
             default: {
@@ -0,0 +1,343 @@
+package com.charlyghislain.odoo.client.fields;
+
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Field definitions of many models, in a binary file that is memory-mapped and decoded one model at a time.
+ * <p>
+ * The file starts with the offsets of all distinct strings and the strings themselves, then an index of the models
+ * with the offset of their fields. Fields reference strings by their position in the table, and each string is
+ * decoded the first time it is referenced.
+ * <p>
+ * The field context is not stored: it is not parsed from fields_get responses either.
+ */
+public class FieldModelSnapshot {
+
+    private static final int MAGIC = 0x4F464D53;
+    private static final int VERSION = 2;
+    // Magic, version, string count and model index offset
+    private static final int HEADER_SIZE = 16;
+    private static final int NULL_INDEX = -1;
+
+    private static final int FLAG_CHANGE_DEFAULT = 1;
+    private static final int FLAG_READONLY = 1 << 1;
+    private static final int FLAG_COMPANY_DEPENDANT = 1 << 2;
+    private static final int FLAG_SORTABLE = 1 << 3;
+    private static final int FLAG_STORE = 1 << 4;
+    private static final int FLAG_MANUAL = 1 << 5;
+    private static final int FLAG_REQUIRED = 1 << 6;
+    private static final int FLAG_SEARCHABLE = 1 << 7;
+    private static final int FLAG_TRANSLATE = 1 << 8;
+    private static final int FLAG_TRIM = 1 << 9;
+    private static final int FLAG_ATTACHMENT = 1 << 10;
+    private static final int FLAG_SIZE = 1 << 11;
+
+    private final ByteBuffer buffer;
+    private final FieldMetadataInterner interner;
+    private final int stringOffsetsPosition;
+    private final int stringsOffset;
+    private final int modelIndexOffset;
+    // Decoded strings, null until first referenced
+    private final String[] strings;
+    private final Map<String, Integer> modelOffsets = new HashMap<>();
+
+    private FieldModelSnapshot(ByteBuffer buffer, FieldMetadataInterner interner, int stringCount, int modelIndexOffset) {
+        this.buffer = buffer;
+        this.interner = interner;
+        this.stringOffsetsPosition = buffer.position();
+        this.stringsOffset = stringOffsetsPosition + stringCount * 4;
+        this.modelIndexOffset = modelIndexOffset;
+        this.strings = new String[stringCount];
+    }
+
+    /**
+     * Maps the file and reads its model index. Strings and fields are decoded when requested.
+     *
+     * @throws OdooRuntimeError when the file is not a snapshot of this version, or is truncated or corrupted
+     */
+    public static FieldModelSnapshot open(Path snapshotFile, FieldMetadataInterner interner) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel fileChannel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            // The mapping remains valid once the channel is closed
+            buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+        }
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new OdooRuntimeError("Invalid fields snapshot " + snapshotFile);
+        }
+        int stringCount = buffer.getInt();
+        int modelIndexOffset = buffer.getInt();
+        if (stringCount < 0 || modelIndexOffset < HEADER_SIZE + stringCount * 4L || modelIndexOffset > buffer.limit() - 4) {
+            throw new OdooRuntimeError("Invalid fields snapshot " + snapshotFile + ": truncated string table");
+        }
+        FieldModelSnapshot snapshot = new FieldModelSnapshot(buffer, interner, stringCount, modelIndexOffset);
+
+        ByteBuffer indexBuffer = buffer.duplicate();
+        indexBuffer.position(modelIndexOffset);
+        int modelCount = indexBuffer.getInt();
+        long modelsOffset = modelIndexOffset + 4 + modelCount * 8L;
+        if (modelCount < 0 || modelsOffset > buffer.limit()) {
+            throw new OdooRuntimeError("Invalid fields snapshot " + snapshotFile + ": truncated model index");
+        }
+        for (int i = 0; i < modelCount; i++) {
+            String modelName = snapshot.getString(indexBuffer.getInt(), true);
+            int modelOffset = indexBuffer.getInt();
+            if (modelOffset < modelsOffset || modelOffset > buffer.limit() - 4) {
+                throw new OdooRuntimeError("Invalid fields snapshot " + snapshotFile + ": fields of " + modelName
+                        + " at offset " + modelOffset + " out of the file");
+            }
+            snapshot.modelOffsets.put(modelName, modelOffset);
+        }
+        return snapshot;
+    }
+
+    public Set<String> getModelNames() {
+        return Collections.unmodifiableSet(modelOffsets.keySet());
+    }
+
+    /**
+     * @return the fields of the model, or null when the snapshot does not contain it
+     * @throws OdooRuntimeError when the fields of the model are corrupted
+     */
+    public Map<String, FieldModel> getFields(String modelName) {
+        Integer offset = modelOffsets.get(modelName);
+        if (offset == null) {
+            return null;
+        }
+        // Concurrent readers each use their own position
+        ByteBuffer modelBuffer = buffer.duplicate();
+        modelBuffer.position(offset);
+        try {
+            int fieldCount = modelBuffer.getInt();
+            Map<String, FieldModel> fields = new HashMap<>();
+            for (int i = 0; i < fieldCount; i++) {
+                String fieldName = readString(modelBuffer);
+                fields.put(fieldName, readFieldModel(modelBuffer));
+            }
+            return fields;
+        } catch (BufferUnderflowException e) {
+            throw new OdooRuntimeError("Invalid fields snapshot: truncated fields of " + modelName, e);
+        }
+    }
+
+    private FieldModel readFieldModel(ByteBuffer modelBuffer) {
+        FieldModel fieldModel = new FieldModel();
+        int flags = modelBuffer.getInt();
+        fieldModel.setChangeDefault((flags & FLAG_CHANGE_DEFAULT) != 0);
+        fieldModel.setReadonly((flags & FLAG_READONLY) != 0);
+        fieldModel.setCompanyDependant((flags & FLAG_COMPANY_DEPENDANT) != 0);
+        fieldModel.setSortable((flags & FLAG_SORTABLE) != 0);
+        fieldModel.setStore((flags & FLAG_STORE) != 0);
+        fieldModel.setManual((flags & FLAG_MANUAL) != 0);
+        fieldModel.setRequired((flags & FLAG_REQUIRED) != 0);
+        fieldModel.setSearchable((flags & FLAG_SEARCHABLE) != 0);
+        fieldModel.setTranslate((flags & FLAG_TRANSLATE) != 0);
+        fieldModel.setTrim((flags & FLAG_TRIM) != 0);
+        fieldModel.setAttachment((flags & FLAG_ATTACHMENT) != 0);
+        String typeName = readString(modelBuffer);
+        if (typeName != null) {
+            fieldModel.setType(OdooFieldType.fromTypeName(typeName)
+                    .orElseThrow(() -> new OdooRuntimeError("Unhandled field type " + typeName)));
+        }
+        fieldModel.setName(readString(modelBuffer));
+        fieldModel.setLabel(readString(modelBuffer));
+        fieldModel.setGroups(readString(modelBuffer));
+        fieldModel.setDomain(readString(modelBuffer, false));
+        fieldModel.setHelp(readString(modelBuffer, false));
+        fieldModel.setGroupOperator(readString(modelBuffer));
+        fieldModel.setCurencyField(readString(modelBuffer));
+        fieldModel.setRelation(readString(modelBuffer));
+        fieldModel.setRelationField(readString(modelBuffer));
+        if ((flags & FLAG_SIZE) != 0) {
+            fieldModel.setSize(modelBuffer.getInt());
+        }
+        fieldModel.setDepends(readStringList(modelBuffer));
+        fieldModel.setSelectionValues(readStringList(modelBuffer));
+        return fieldModel;
+    }
+
+    private String readString(ByteBuffer modelBuffer) {
+        return readString(modelBuffer, true);
+    }
+
+    /**
+     * @param shared whether the value is interned, as the values repeated across fields are
+     */
+    private String readString(ByteBuffer modelBuffer, boolean shared) {
+        int index = modelBuffer.getInt();
+        return index == NULL_INDEX ? null : getString(index, shared);
+    }
+
+    private String getString(int index, boolean shared) {
+        if (index < 0 || index >= strings.length) {
+            throw new OdooRuntimeError("Invalid fields snapshot: string index " + index + " out of the string table");
+        }
+        String value = strings[index];
+        if (value != null) {
+            return value;
+        }
+        // Absolute reads, the shared buffer position is not used
+        int offset = buffer.getInt(stringOffsetsPosition + index * 4);
+        if (offset < stringsOffset || offset > modelIndexOffset - 4) {
+            throw new OdooRuntimeError("Invalid fields snapshot: string " + index + " at offset " + offset + " out of the string table");
+        }
+        int length = buffer.getInt(offset);
+        if (length < 0 || length > modelIndexOffset - offset - 4) {
+            throw new OdooRuntimeError("Invalid fields snapshot: string " + index + " of length " + length + " out of the string table");
+        }
+        byte[] stringBytes = new byte[length];
+        ByteBuffer stringBuffer = buffer.duplicate();
+        stringBuffer.position(offset + 4);
+        stringBuffer.get(stringBytes);
+        value = new String(stringBytes, StandardCharsets.UTF_8);
+        if (shared) {
+            // Concurrent readers may decode the same string, the interner makes them share an instance
+            value = interner.intern(value);
+        }
+        strings[index] = value;
+        return value;
+    }
+
+    private List<String> readStringList(ByteBuffer modelBuffer) {
+        int size = modelBuffer.getInt();
+        if (size == NULL_INDEX) {
+            return null;
+        }
+        if (size < 0 || size > modelBuffer.remaining() / 4) {
+            throw new OdooRuntimeError("Invalid fields snapshot: string list of size " + size + " out of the file");
+        }
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = readString(modelBuffer);
+        }
+        // Unlike List.of, accepts null values
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * Writes the snapshot to a temporary file first, then replaces the existing one.
+     */
+    public static void write(Path snapshotFile, Map<String, Map<String, FieldModel>> modelFields) throws IOException {
+        StringTable stringTable = new StringTable();
+        ByteArrayOutputStream modelsBytes = new ByteArrayOutputStream();
+        DataOutputStream modelsOutput = new DataOutputStream(modelsBytes);
+        Map<Integer, Integer> modelRelativeOffsets = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, FieldModel>> modelEntry : modelFields.entrySet()) {
+            modelRelativeOffsets.put(stringTable.indexOf(modelEntry.getKey()), modelsOutput.size());
+            Map<String, FieldModel> fields = modelEntry.getValue();
+            modelsOutput.writeInt(fields.size());
+            for (Map.Entry<String, FieldModel> fieldEntry : fields.entrySet()) {
+                modelsOutput.writeInt(stringTable.indexOf(fieldEntry.getKey()));
+                writeFieldModel(modelsOutput, stringTable, fieldEntry.getValue());
+            }
+        }
+
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            int stringCount = stringTable.encodedStrings.size();
+            int stringsOffset = HEADER_SIZE + stringCount * 4;
+            int stringsLength = 0;
+            for (byte[] stringBytes : stringTable.encodedStrings) {
+                stringsLength += 4 + stringBytes.length;
+            }
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(stringCount);
+            output.writeInt(stringsOffset + stringsLength);
+            int stringOffset = stringsOffset;
+            for (byte[] stringBytes : stringTable.encodedStrings) {
+                output.writeInt(stringOffset);
+                stringOffset += 4 + stringBytes.length;
+            }
+            for (byte[] stringBytes : stringTable.encodedStrings) {
+                output.writeInt(stringBytes.length);
+                output.write(stringBytes);
+            }
+            output.writeInt(modelRelativeOffsets.size());
+            int modelsOffset = output.size() + modelRelativeOffsets.size() * 8;
+            for (Map.Entry<Integer, Integer> offsetEntry : modelRelativeOffsets.entrySet()) {
+                output.writeInt(offsetEntry.getKey());
+                output.writeInt(modelsOffset + offsetEntry.getValue());
+            }
+            modelsBytes.writeTo(output);
+        }
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFieldModel(DataOutputStream output, StringTable stringTable, FieldModel fieldModel) throws IOException {
+        int flags = (fieldModel.isChangeDefault() ? FLAG_CHANGE_DEFAULT : 0)
+                | (fieldModel.isReadonly() ? FLAG_READONLY : 0)
+                | (fieldModel.isCompanyDependant() ? FLAG_COMPANY_DEPENDANT : 0)
+                | (fieldModel.isSortable() ? FLAG_SORTABLE : 0)
+                | (fieldModel.isStore() ? FLAG_STORE : 0)
+                | (fieldModel.isManual() ? FLAG_MANUAL : 0)
+                | (fieldModel.isRequired() ? FLAG_REQUIRED : 0)
+                | (fieldModel.isSearchable() ? FLAG_SEARCHABLE : 0)
+                | (fieldModel.isTranslate() ? FLAG_TRANSLATE : 0)
+                | (fieldModel.isTrim() ? FLAG_TRIM : 0)
+                | (fieldModel.isAttachment() ? FLAG_ATTACHMENT : 0)
+                | (fieldModel.getSize() != null ? FLAG_SIZE : 0);
+        output.writeInt(flags);
+        output.writeInt(stringTable.indexOf(fieldModel.getType() == null ? null : fieldModel.getType().getTypeName()));
+        output.writeInt(stringTable.indexOf(fieldModel.getName()));
+        output.writeInt(stringTable.indexOf(fieldModel.getLabel()));
+        output.writeInt(stringTable.indexOf(fieldModel.getGroups()));
+        output.writeInt(stringTable.indexOf(fieldModel.getDomain()));
+        output.writeInt(stringTable.indexOf(fieldModel.getHelp()));
+        output.writeInt(stringTable.indexOf(fieldModel.getGroupOperator()));
+        output.writeInt(stringTable.indexOf(fieldModel.getCurencyField()));
+        output.writeInt(stringTable.indexOf(fieldModel.getRelation()));
+        output.writeInt(stringTable.indexOf(fieldModel.getRelationField()));
+        if (fieldModel.getSize() != null) {
+            output.writeInt(fieldModel.getSize());
+        }
+        writeStringList(output, stringTable, fieldModel.getDepends());
+        writeStringList(output, stringTable, fieldModel.getSelectionValues());
+    }
+
+    private static void writeStringList(DataOutputStream output, StringTable stringTable, List<String> values) throws IOException {
+        if (values == null) {
+            output.writeInt(NULL_INDEX);
+            return;
+        }
+        output.writeInt(values.size());
+        for (String value : values) {
+            output.writeInt(stringTable.indexOf(value));
+        }
+    }
+
+    private static class StringTable {
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<byte[]> encodedStrings = new ArrayList<>();
+
+        int indexOf(String value) {
+            if (value == null) {
+                return NULL_INDEX;
+            }
+            return strings.computeIfAbsent(value, newValue -> {
+                encodedStrings.add(newValue.getBytes(StandardCharsets.UTF_8));
+                return encodedStrings.size() - 1;
+            });
+        }
+    }
+}
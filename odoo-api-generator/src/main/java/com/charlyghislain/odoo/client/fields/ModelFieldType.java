@@ -2,12 +2,12 @@ package com.charlyghislain.odoo.client.fields;
 
 import lombok.Getter;
 
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Getter
@@ -28,6 +28,15 @@ public class ModelFieldType<T> {
     public static final ModelFieldType<LocalDate> DATE = new ModelFieldType<>(OdooFieldType.DATE, LocalDate.class);
     public static final ModelFieldType<String> HTML = new ModelFieldType<>(OdooFieldType.HTML, String.class);
 
+    private static final Map<OdooFieldType, ModelFieldType<?>> TYPES_BY_ODOO_TYPE = new EnumMap<>(OdooFieldType.class);
+
+    static {
+        for (ModelFieldType<?> modelFieldType : List.of(DATETIME, BOOLEAN, MONETARY, INTEGER, SELECTION, CHAR, TEXT,
+                FLOAT, MANY_TO_MANY, MANY_TO_ONE, ONE_TO_MANY, BINARY, DATE, HTML)) {
+            TYPES_BY_ODOO_TYPE.put(modelFieldType.getOdooFieldType(), modelFieldType);
+        }
+    }
+
     private OdooFieldType odooFieldType;
     private Class<T> javaFieldType;
 
@@ -37,19 +46,6 @@ public class ModelFieldType<T> {
     }
 
     public static Optional<? extends ModelFieldType<?>> fromOdooFieldType(OdooFieldType fieldType) {
-        Class<ModelFieldType> declaringClass = ModelFieldType.class;
-        Field[] fields = declaringClass.getDeclaredFields();
-        return Arrays.stream(fields)
-                .filter(f -> f.getName().equals(fieldType.name()))
-                .map(f -> {
-                    try {
-                        return (ModelFieldType<?>) f.get(null);
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException("Cannot access field: " + e);
-                    }
-                })
-                .findAny();
+        return Optional.ofNullable(TYPES_BY_ODOO_TYPE.get(fieldType));
     }
-
-
 }
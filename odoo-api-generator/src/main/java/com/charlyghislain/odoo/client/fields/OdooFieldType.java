@@ -2,8 +2,12 @@ package com.charlyghislain.odoo.client.fields;
 
 import lombok.Getter;
 
-import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public enum OdooFieldType {
     DATETIME("datetime"),
@@ -24,6 +28,14 @@ public enum OdooFieldType {
     MANY_TO_ONE_REFERENCE("many2one_reference"),
     ;
 
+    private static final Map<String, OdooFieldType> TYPES_BY_NAME = new HashMap<>();
+
+    static {
+        for (OdooFieldType fieldType : values()) {
+            TYPES_BY_NAME.put(fieldType.typeName, fieldType);
+        }
+    }
+
     @Getter
     private final String typeName;
 
@@ -32,8 +44,27 @@ public enum OdooFieldType {
     }
 
     public static Optional<OdooFieldType> fromTypeName(String typename) {
-        return Arrays.stream(OdooFieldType.values())
-                .filter(v -> v.getTypeName().equalsIgnoreCase(typename))
-                .findAny();
+        OdooFieldType fieldType = TYPES_BY_NAME.get(typename);
+        if (fieldType == null && typename != null) {
+            // Odoo type names are lower case
+            fieldType = TYPES_BY_NAME.get(typename.toLowerCase(Locale.ROOT));
+        }
+        return Optional.ofNullable(fieldType);
+    }
+
+    /**
+     * Parses field types in the form binary,html
+     */
+    public static Set<OdooFieldType> parseTypeNames(String typeNames) {
+        Set<OdooFieldType> fieldTypes = EnumSet.noneOf(OdooFieldType.class);
+        for (String typeName : typeNames.split(",")) {
+            if (typeName.isBlank()) {
+                continue;
+            }
+            OdooFieldType fieldType = fromTypeName(typeName.trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid field type " + typeName));
+            fieldTypes.add(fieldType);
+        }
+        return fieldTypes;
     }
 }
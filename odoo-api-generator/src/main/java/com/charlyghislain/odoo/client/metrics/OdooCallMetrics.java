@@ -0,0 +1,111 @@
+package com.charlyghislain.odoo.client.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Latencies, call, error and in-flight counts of the odoo calls, per model and method.
+ */
+public class OdooCallMetrics {
+
+    private final Map<CallKey, OdooCallStats> callStats = new ConcurrentHashMap<>();
+
+    public OdooCallStats getCallStats(String modelName, String methodName) {
+        return callStats.computeIfAbsent(new CallKey(modelName, methodName),
+                key -> new OdooCallStats(modelName, methodName));
+    }
+
+    public List<OdooCallStats> listCallStats() {
+        return callStats.values().stream()
+                .sorted(Comparator.comparing(OdooCallStats::getModelName)
+                        .thenComparing(OdooCallStats::getMethodName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the metrics in the prometheus text exposition format.
+     */
+    public void writePrometheus(Writer writer) throws IOException {
+        List<OdooCallStats> statsList = listCallStats();
+        writer.write("# HELP odoo_call_duration_seconds Latency of the odoo calls\n");
+        writer.write("# TYPE odoo_call_duration_seconds summary\n");
+        for (OdooCallStats stats : statsList) {
+            LatencyHistogram histogram = stats.getLatencyHistogram();
+            String labels = "model=\"" + escapeLabel(stats.getModelName()) + "\",method=\"" + escapeLabel(stats.getMethodName()) + "\"";
+            for (double quantile : new double[]{0.5, 0.9, 0.99}) {
+                writer.write("odoo_call_duration_seconds{" + labels + ",quantile=\"" + quantile + "\"} "
+                        + toSeconds(histogram.getPercentileMicros(quantile * 100)) + "\n");
+            }
+            writer.write("odoo_call_duration_seconds_sum{" + labels + "} " + toSeconds(histogram.getSumMicros()) + "\n");
+            writer.write("odoo_call_duration_seconds_count{" + labels + "} " + histogram.getCount() + "\n");
+        }
+        writeGauge(writer, statsList, "odoo_call_duration_seconds_max", "Maximum latency of the odoo calls",
+                s -> toSeconds(s.getLatencyHistogram().getMaxMicros()));
+        writeCounter(writer, statsList, "odoo_call_errors_total", "Failed odoo calls",
+                s -> String.valueOf(s.getErrorCount().sum()));
+        writeGauge(writer, statsList, "odoo_calls_in_flight", "Odoo calls awaiting a response",
+                s -> String.valueOf(s.getInFlightCount().sum()));
+    }
+
+    /**
+     * Writes a human readable table of the metrics, latencies in milliseconds.
+     */
+    public void writeReport(PrintStream printStream) {
+        printStream.println(String.format("%-40s %-16s %8s %8s %10s %10s %10s %10s",
+                "model", "method", "calls", "errors", "p50", "p90", "p99", "max"));
+        for (OdooCallStats stats : listCallStats()) {
+            LatencyHistogram histogram = stats.getLatencyHistogram();
+            printStream.println(String.format("%-40s %-16s %8d %8d %10.1f %10.1f %10.1f %10.1f",
+                    stats.getModelName(), stats.getMethodName(), stats.getCallCount(), stats.getErrorCount().sum(),
+                    histogram.getPercentileMicros(50) / 1000d, histogram.getPercentileMicros(90) / 1000d,
+                    histogram.getPercentileMicros(99) / 1000d, histogram.getMaxMicros() / 1000d));
+        }
+    }
+
+    private void writeGauge(Writer writer, List<OdooCallStats> statsList, String name, String help,
+                            Function<OdooCallStats, String> valueFunction) throws IOException {
+        writeMetric(writer, statsList, name, help, "gauge", valueFunction);
+    }
+
+    private void writeCounter(Writer writer, List<OdooCallStats> statsList, String name, String help,
+                              Function<OdooCallStats, String> valueFunction) throws IOException {
+        writeMetric(writer, statsList, name, help, "counter", valueFunction);
+    }
+
+    private void writeMetric(Writer writer, List<OdooCallStats> statsList, String name, String help, String type,
+                             Function<OdooCallStats, String> valueFunction) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+        for (OdooCallStats stats : statsList) {
+            writer.write(name + "{model=\"" + escapeLabel(stats.getModelName()) + "\",method=\""
+                    + escapeLabel(stats.getMethodName()) + "\"} " + valueFunction.apply(stats) + "\n");
+        }
+    }
+
+    private static String toSeconds(long micros) {
+        return String.valueOf(micros / 1_000_000d);
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class CallKey {
+        private final String modelName;
+        private final String methodName;
+    }
+}
@@ -0,0 +1,39 @@
+package com.charlyghislain.odoo.client.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the calls to a method of a model.
+ */
+@Getter
+public class OdooCallStats {
+
+    private final String modelName;
+    private final String methodName;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder inFlightCount = new LongAdder();
+
+    public OdooCallStats(String modelName, String methodName) {
+        this.modelName = modelName;
+        this.methodName = methodName;
+    }
+
+    public long getCallCount() {
+        return latencyHistogram.getCount();
+    }
+
+    public void callStarted() {
+        inFlightCount.increment();
+    }
+
+    public void callCompleted(long startNanos, boolean failed) {
+        inFlightCount.decrement();
+        latencyHistogram.record((System.nanoTime() - startNanos) / 1000);
+        if (failed) {
+            errorCount.increment();
+        }
+    }
+}
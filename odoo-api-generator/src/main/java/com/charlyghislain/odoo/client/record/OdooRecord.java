@@ -0,0 +1,91 @@
+package com.charlyghislain.odoo.client.record;
+
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.charlyghislain.odoo.client.fields.ForeignKey;
+import com.charlyghislain.odoo.client.fields.MonetaryValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A decoded record, backed by an array indexed as in its {@link OdooRecordDecoder}.
+ * Absent, empty and false values are null, except for boolean fields.
+ */
+public class OdooRecord {
+
+    private final OdooRecordDecoder decoder;
+    private final Object[] values;
+
+    OdooRecord(OdooRecordDecoder decoder, Object[] values) {
+        this.decoder = decoder;
+        this.values = values;
+    }
+
+    public OdooRecordDecoder getDecoder() {
+        return decoder;
+    }
+
+    public int indexOf(String fieldName) {
+        int index = decoder.indexOf(fieldName);
+        if (index < 0) {
+            throw new OdooRuntimeError("No field " + fieldName + " in model " + decoder.getModelName());
+        }
+        return index;
+    }
+
+    public Object get(int index) {
+        return values[index];
+    }
+
+    public Object get(String fieldName) {
+        return values[indexOf(fieldName)];
+    }
+
+    public Integer getId() {
+        return getInteger(indexOf("id"));
+    }
+
+    public String getString(int index) {
+        return (String) values[index];
+    }
+
+    public Integer getInteger(int index) {
+        return (Integer) values[index];
+    }
+
+    public boolean getBoolean(int index) {
+        return Boolean.TRUE.equals(values[index]);
+    }
+
+    public BigDecimal getBigDecimal(int index) {
+        return (BigDecimal) values[index];
+    }
+
+    public MonetaryValue getMonetaryValue(int index) {
+        return (MonetaryValue) values[index];
+    }
+
+    public LocalDateTime getLocalDateTime(int index) {
+        return (LocalDateTime) values[index];
+    }
+
+    public LocalDate getLocalDate(int index) {
+        return (LocalDate) values[index];
+    }
+
+    public ForeignKey<?> getForeignKey(int index) {
+        return (ForeignKey<?>) values[index];
+    }
+
+    /**
+     * @return the ids of a one2many or many2many field
+     */
+    public int[] getIds(int index) {
+        return (int[]) values[index];
+    }
+
+    public byte[] getBinary(int index) {
+        return (byte[]) values[index];
+    }
+}
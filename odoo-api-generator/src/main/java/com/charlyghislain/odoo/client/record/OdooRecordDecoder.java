@@ -0,0 +1,200 @@
+package com.charlyghislain.odoo.client.record;
+
+import com.charlyghislain.odoo.client.OdooParserUtils;
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.fields.ForeignKey;
+import com.charlyghislain.odoo.client.fields.MonetaryValue;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Decodes raw records of a model to {@link OdooRecord}s. Compiled once from the model field definitions, so that
+ * the type of each field is not looked up again for each record.
+ * <p>
+ * Odoo uses false for empty values of non-boolean fields: those are decoded to null.
+ */
+public class OdooRecordDecoder {
+
+    @Getter
+    private final String modelName;
+    private final String[] fieldNames;
+    private final OdooFieldType[] fieldTypes;
+    private final Class<?>[] javaTypes;
+    private final Map<String, Integer> fieldIndexes;
+
+    public OdooRecordDecoder(String modelName, Map<String, FieldModel> fieldModels) {
+        this.modelName = modelName;
+        List<String> sortedFieldNames = fieldModels.keySet().stream()
+                .sorted()
+                .collect(Collectors.toList());
+        int fieldCount = sortedFieldNames.size();
+        this.fieldNames = new String[fieldCount];
+        this.fieldTypes = new OdooFieldType[fieldCount];
+        this.javaTypes = new Class<?>[fieldCount];
+        this.fieldIndexes = new HashMap<>(fieldCount * 2);
+        for (int i = 0; i < fieldCount; i++) {
+            String fieldName = sortedFieldNames.get(i);
+            OdooFieldType fieldType = fieldModels.get(fieldName).getType();
+            fieldNames[i] = fieldName;
+            fieldTypes[i] = fieldType;
+            javaTypes[i] = getDecodedJavaType(fieldType);
+            fieldIndexes.put(fieldName, i);
+        }
+    }
+
+    public OdooRecord decode(Map<Object, Object> rawRecord) {
+        Object[] values = new Object[fieldNames.length];
+        for (Map.Entry<Object, Object> entry : rawRecord.entrySet()) {
+            Integer index = fieldIndexes.get(entry.getKey());
+            if (index == null) {
+                // Not a field of the model, eg: aggregates
+                continue;
+            }
+            values[index] = decodeValue(index, entry.getValue());
+        }
+        return new OdooRecord(this, values);
+    }
+
+    /**
+     * @return the index of the field in decoded records, or -1 when the model has no such field
+     */
+    public int indexOf(String fieldName) {
+        Integer index = fieldIndexes.get(fieldName);
+        return index == null ? -1 : index;
+    }
+
+    public int getFieldCount() {
+        return fieldNames.length;
+    }
+
+    public String getFieldName(int index) {
+        return fieldNames[index];
+    }
+
+    public OdooFieldType getFieldType(int index) {
+        return fieldTypes[index];
+    }
+
+    /**
+     * @return the java type of decoded values, as returned by {@link #decode(Map)}
+     */
+    public Class<?> getJavaType(int index) {
+        return javaTypes[index];
+    }
+
+    private Object decodeValue(int index, Object value) {
+        OdooFieldType fieldType = fieldTypes[index];
+        if (fieldType == OdooFieldType.BOOLEAN) {
+            return value == null || value instanceof Boolean ? value : OdooParserUtils.parseBoolean(value, fieldNames[index]);
+        }
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return null;
+        }
+        try {
+            switch (fieldType) {
+                case CHAR:
+                case TEXT:
+                case HTML:
+                case SELECTION:
+                case REFERENCE:
+                    return value instanceof String ? value : value.toString();
+                case INTEGER:
+                case MANY_TO_ONE_REFERENCE:
+                    return (Integer) value;
+                case FLOAT:
+                    return toBigDecimal(value);
+                case MONETARY:
+                    return new MonetaryValue(toBigDecimal(value));
+                case DATETIME:
+                    return OdooParserUtils.parseOdooDateTime(OdooParserUtils.parseString(value, fieldNames[index]));
+                case DATE:
+                    return OdooParserUtils.parseOdooDate(OdooParserUtils.parseString(value, fieldNames[index]));
+                case MANY_TO_ONE: {
+                    // [id, display name]
+                    Object id = value instanceof Object[] ? ((Object[]) value)[0] : value;
+                    return new ForeignKey<>((Integer) id);
+                }
+                case ONE_TO_MANY:
+                case MANY_TO_MANY:
+                    return toIdArray((Object[]) value);
+                case BINARY:
+                    return value instanceof byte[]
+                            ? value
+                            : Base64.getMimeDecoder().decode(OdooParserUtils.parseString(value, fieldNames[index]));
+                default:
+                    return value;
+            }
+        } catch (ClassCastException | IllegalArgumentException | IndexOutOfBoundsException | DateTimeException
+                 | OdooRuntimeError e) {
+            throw new OdooRuntimeError("Unable to decode " + modelName + "." + fieldNames[index]
+                    + " (" + fieldType + ") value " + value + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The type of the values returned by decodeValue for a field type. Keep both in sync.
+     */
+    private static Class<?> getDecodedJavaType(OdooFieldType fieldType) {
+        switch (fieldType) {
+            case BOOLEAN:
+                return Boolean.class;
+            case CHAR:
+            case TEXT:
+            case HTML:
+            case SELECTION:
+            case REFERENCE:
+                return String.class;
+            case INTEGER:
+            case MANY_TO_ONE_REFERENCE:
+                return Integer.class;
+            case FLOAT:
+                return BigDecimal.class;
+            case MONETARY:
+                return MonetaryValue.class;
+            case DATETIME:
+                return LocalDateTime.class;
+            case DATE:
+                return LocalDate.class;
+            case MANY_TO_ONE:
+                return ForeignKey.class;
+            case ONE_TO_MANY:
+            case MANY_TO_MANY:
+                return int[].class;
+            case BINARY:
+                return byte[].class;
+            default:
+                return Object.class;
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Double) {
+            return BigDecimal.valueOf((Double) value);
+        } else if (value instanceof Integer) {
+            return BigDecimal.valueOf((Integer) value);
+        } else if (value instanceof String) {
+            return new BigDecimal((String) value);
+        } else {
+            throw new IllegalArgumentException("Not a number");
+        }
+    }
+
+    private static int[] toIdArray(Object[] values) {
+        int[] ids = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ids[i] = (Integer) values[i];
+        }
+        return ids;
+    }
+}
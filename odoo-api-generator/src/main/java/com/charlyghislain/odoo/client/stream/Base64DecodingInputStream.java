@@ -0,0 +1,106 @@
+package com.charlyghislain.odoo.client.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Decodes base64 text provided in chunks, such as the text events of a streaming parser, skipping whitespace.
+ * <p>
+ * Only a chunk of the encoded and decoded content is held at once.
+ */
+public class Base64DecodingInputStream extends InputStream {
+
+    // A multiple of 4, so that full chunks decode without padding
+    private static final int ENCODED_CHUNK_SIZE = 16384;
+
+    private final TextChunkSource textSource;
+    private final byte[] encoded = new byte[ENCODED_CHUNK_SIZE];
+    private final byte[] decoded = new byte[ENCODED_CHUNK_SIZE / 4 * 3];
+    private int encodedLength;
+    private int decodedOffset;
+    private int decodedLength;
+    private CharBuffer textChunk;
+    private boolean textEnded;
+
+    public Base64DecodingInputStream(TextChunkSource textSource) {
+        this.textSource = textSource;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return decoded[decodedOffset++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int readLength = Math.min(length, decodedLength - decodedOffset);
+        System.arraycopy(decoded, decodedOffset, buffer, offset, readLength);
+        decodedOffset += readLength;
+        return readLength;
+    }
+
+    @Override
+    public int available() {
+        return decodedLength - decodedOffset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        textSource.close();
+    }
+
+    private boolean fill() throws IOException {
+        while (decodedOffset >= decodedLength) {
+            if (textEnded) {
+                return false;
+            }
+            while (encodedLength < ENCODED_CHUNK_SIZE) {
+                if (textChunk == null || !textChunk.hasRemaining()) {
+                    textChunk = textSource.nextChunk();
+                    if (textChunk == null) {
+                        textEnded = true;
+                        break;
+                    }
+                    continue;
+                }
+                char encodedChar = textChunk.get();
+                if (encodedChar > ' ') {
+                    encoded[encodedLength++] = (byte) encodedChar;
+                }
+            }
+            byte[] encodedChunk = encodedLength == ENCODED_CHUNK_SIZE ? encoded : Arrays.copyOf(encoded, encodedLength);
+            try {
+                decodedLength = Base64.getDecoder().decode(encodedChunk, decoded);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid base64 value: " + e.getMessage(), e);
+            }
+            decodedOffset = 0;
+            encodedLength = 0;
+        }
+        return true;
+    }
+
+    public interface TextChunkSource extends AutoCloseable {
+
+        /**
+         * @return the next chunk of text, or null at the end. The chunk may be reused once the next one is requested
+         */
+        CharBuffer nextChunk() throws IOException;
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.charlyghislain.odoo.client.stream;
+
+import com.charlyghislain.odoo.client.OdooParserUtils;
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import org.apache.xmlrpc.XmlRpcException;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull parser over a json-rpc response whose result is an array of records, parsing one record at a time.
+ */
+public class JsonRpcRecordIterator implements OdooRecordIterator {
+
+    private final InputStream inputStream;
+    private final JsonParser parser;
+    private JsonParser.Event nextEvent;
+
+    public JsonRpcRecordIterator(InputStream inputStream) throws XmlRpcException {
+        this.inputStream = inputStream;
+        this.parser = Json.createParser(inputStream);
+        try {
+            JsonRpcResponseReader.moveToResult(parser);
+            if (parser.next() != JsonParser.Event.START_ARRAY) {
+                throw new XmlRpcException("Expected an array result");
+            }
+            this.nextEvent = parser.next();
+        } catch (JsonException e) {
+            close();
+            throw new XmlRpcException("Unable to parse response: " + e.getMessage(), e);
+        } catch (XmlRpcException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextEvent != JsonParser.Event.END_ARRAY;
+    }
+
+    @Override
+    public Map<Object, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            Object value = JsonRpcResponseReader.readValue(parser, nextEvent);
+            this.nextEvent = parser.next();
+            return OdooParserUtils.parseMap(value, "Streamed record");
+        } catch (JsonException e) {
+            throw new OdooRuntimeError("Unable to parse record: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The json parser reads strings at once, so the base64 value is held in memory while decoding it.
+     */
+    @Override
+    public InputStream nextBinaryValue(String fieldName) {
+        Map<Object, Object> record = next();
+        Object fieldValue = record.get(fieldName);
+        if (!(fieldValue instanceof String) || ((String) fieldValue).isEmpty()) {
+            return null;
+        }
+        CharBuffer[] textChunks = {CharBuffer.wrap((String) fieldValue)};
+        return new Base64DecodingInputStream(() -> {
+            CharBuffer textChunk = textChunks[0];
+            textChunks[0] = null;
+            return textChunk;
+        });
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (JsonException e) {
+            // Closing the input stream below is what matters
+        }
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            throw new OdooRuntimeError("Unable to close response stream", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.charlyghislain.odoo.client.stream;
+
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.charlyghislain.odoo.client.OdooXmlRpcConstants;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes json-rpc calls to odoo services.
+ */
+public class JsonRpcRequestWriter {
+
+    public static byte[] writeCall(int requestId, String service, String method, List<Object> args) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = Json.createGenerator(outputStream)) {
+            generator.writeStartObject()
+                    .write("jsonrpc", "2.0")
+                    .write("method", OdooXmlRpcConstants.JSONRPC_METHOD_CALL)
+                    .write("id", requestId)
+                    .writeStartObject("params")
+                    .write("service", service)
+                    .write("method", method);
+            generator.writeKey("args");
+            writeValue(generator, args);
+            generator.writeEnd()
+                    .writeEnd();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.write((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.write(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.write((Long) value);
+        } else if (value instanceof Boolean) {
+            generator.write((Boolean) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.write(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal) {
+            generator.write((BigDecimal) value);
+        } else if (value instanceof byte[]) {
+            generator.write(Base64.getEncoder().encodeToString((byte[]) value));
+        } else if (value instanceof List) {
+            generator.writeStartArray();
+            for (Object item : (List<?>) value) {
+                writeValue(generator, item);
+            }
+            generator.writeEnd();
+        } else if (value instanceof Object[]) {
+            generator.writeStartArray();
+            for (Object item : (Object[]) value) {
+                writeValue(generator, item);
+            }
+            generator.writeEnd();
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeKey(entry.getKey().toString());
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEnd();
+        } else {
+            throw new OdooRuntimeError("Unsupported json-rpc value type " + value.getClass());
+        }
+    }
+}
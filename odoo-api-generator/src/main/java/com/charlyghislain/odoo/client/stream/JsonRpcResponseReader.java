@@ -0,0 +1,106 @@
+package com.charlyghislain.odoo.client.stream;
+
+import com.charlyghislain.odoo.client.OdooParserUtils;
+import org.apache.xmlrpc.XmlRpcException;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads json-rpc responses with a streaming parser, producing the same value types as the xml-rpc client.
+ */
+public class JsonRpcResponseReader {
+
+    public static Object readResult(InputStream inputStream) throws XmlRpcException {
+        try (JsonParser parser = Json.createParser(inputStream)) {
+            moveToResult(parser);
+            return readValue(parser, parser.next());
+        } catch (JsonException e) {
+            throw new XmlRpcException("Unable to parse response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves the parser to the value of the result member, throwing the error member if found first.
+     */
+    static void moveToResult(JsonParser parser) throws XmlRpcException {
+        if (parser.next() != JsonParser.Event.START_OBJECT) {
+            throw new XmlRpcException("Expected a json-rpc response object");
+        }
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event != JsonParser.Event.KEY_NAME) {
+                break;
+            }
+            String key = parser.getString();
+            if (key.equals("result")) {
+                return;
+            }
+            Object value = readValue(parser, parser.next());
+            if (key.equals("error")) {
+                throw createFault(value);
+            }
+        }
+        throw new XmlRpcException("No result in json-rpc response");
+    }
+
+    static Object readValue(JsonParser parser, JsonParser.Event event) {
+        switch (event) {
+            case START_OBJECT: {
+                Map<Object, Object> object = new HashMap<>();
+                while (parser.next() == JsonParser.Event.KEY_NAME) {
+                    String key = parser.getString();
+                    object.put(key, readValue(parser, parser.next()));
+                }
+                return object;
+            }
+            case START_ARRAY: {
+                List<Object> items = new ArrayList<>();
+                JsonParser.Event itemEvent;
+                while ((itemEvent = parser.next()) != JsonParser.Event.END_ARRAY) {
+                    items.add(readValue(parser, itemEvent));
+                }
+                return items.toArray();
+            }
+            case VALUE_STRING:
+                return parser.getString();
+            case VALUE_NUMBER: {
+                if (!parser.isIntegralNumber()) {
+                    return parser.getBigDecimal().doubleValue();
+                }
+                long longValue = parser.getLong();
+                if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                    return (int) longValue;
+                }
+                return longValue;
+            }
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new JsonException("Unexpected json event " + event);
+        }
+    }
+
+    private static XmlRpcException createFault(Object error) {
+        // {code, message, data: {name, message, debug}}
+        Map<Object, Object> errorMap = OdooParserUtils.parseMap(error, "Json-rpc error");
+        Object code = errorMap.get("code");
+        String message = String.valueOf(errorMap.get("message"));
+        Object data = errorMap.get("data");
+        if (data instanceof Map) {
+            Map<?, ?> dataMap = (Map<?, ?>) data;
+            message = dataMap.get("name") + ": " + dataMap.get("message");
+        }
+        return new XmlRpcException(code instanceof Integer ? (int) code : 0, message);
+    }
+}
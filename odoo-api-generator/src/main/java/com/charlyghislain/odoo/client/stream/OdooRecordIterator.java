@@ -0,0 +1,22 @@
+package com.charlyghislain.odoo.client.stream;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Records parsed from a response stream while iterating. Closing releases the underlying connection.
+ */
+public interface OdooRecordIterator extends Iterator<Map<Object, Object>>, AutoCloseable {
+
+    /**
+     * Reads the next record up to the given binary field, and streams its base64-decoded value. The rest of the
+     * response is left unread: the iterator can only be closed afterwards.
+     *
+     * @return the value stream, or null when the field is not set or absent
+     */
+    InputStream nextBinaryValue(String fieldName);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,329 @@
+package com.charlyghislain.odoo.client.stream;
+
+import com.charlyghislain.odoo.client.OdooParserUtils;
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import org.apache.xmlrpc.XmlRpcException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull parser over a xml-rpc methodResponse whose result is an array of structs, such as search_read responses.
+ * <p>
+ * Each record is parsed when requested, so that only a single record is held in memory at once. Values are parsed
+ * to the same types as the xml-rpc client would.
+ */
+public class XmlRpcRecordIterator implements OdooRecordIterator {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HH:mm:ss");
+
+    private final InputStream inputStream;
+    private final XMLStreamReader reader;
+    private boolean hasNextValue;
+
+    public XmlRpcRecordIterator(InputStream inputStream) throws XmlRpcException {
+        this.inputStream = inputStream;
+        try {
+            this.reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            moveToResultArray();
+            this.hasNextValue = moveToNextValue();
+        } catch (XMLStreamException e) {
+            close();
+            throw new XmlRpcException("Unable to parse response: " + e.getMessage(), e);
+        } catch (XmlRpcException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNextValue;
+    }
+
+    @Override
+    public Map<Object, Object> next() {
+        if (!hasNextValue) {
+            throw new NoSuchElementException();
+        }
+        try {
+            Object value = readValue();
+            this.hasNextValue = moveToNextValue();
+            return OdooParserUtils.parseMap(value, "Streamed record");
+        } catch (XMLStreamException e) {
+            throw new OdooRuntimeError("Unable to parse record: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream nextBinaryValue(String fieldName) {
+        if (!hasNextValue) {
+            throw new NoSuchElementException();
+        }
+        this.hasNextValue = false;
+        try {
+            moveToStartElement("struct");
+            while (moveToNextValue()) {
+                // On a member, whose name comes first
+                String name = null;
+                while (moveToNextValue()) {
+                    if (reader.getLocalName().equals("name")) {
+                        name = reader.getElementText();
+                    } else if (fieldName.equals(name)) {
+                        return openValueStream();
+                    } else {
+                        readValue();
+                    }
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new OdooRuntimeError("Unable to parse record: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            // Closing the input stream below is what matters
+        }
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            throw new OdooRuntimeError("Unable to close response stream", e);
+        }
+    }
+
+    private void moveToResultArray() throws XMLStreamException, XmlRpcException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String elementName = reader.getLocalName();
+            if (elementName.equals("fault")) {
+                moveToStartElement("value");
+                Map<Object, Object> fault = OdooParserUtils.parseMap(readValue(), "Fault");
+                Object faultCode = fault.get("faultCode");
+                Object faultString = fault.get("faultString");
+                throw new XmlRpcException(faultCode instanceof Integer ? (int) faultCode : 0, String.valueOf(faultString));
+            } else if (elementName.equals("array")) {
+                moveToStartElement("data");
+                return;
+            } else if (!elementName.equals("methodResponse") && !elementName.equals("params")
+                    && !elementName.equals("param") && !elementName.equals("value")) {
+                throw new XmlRpcException("Expected an array response, got " + elementName);
+            }
+        }
+        throw new XmlRpcException("Empty response");
+    }
+
+    private void moveToStartElement(String name) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals(name)) {
+                return;
+            }
+        }
+        throw new XMLStreamException("Missing element " + name);
+    }
+
+    /**
+     * Moves to the next value of the current array, or past its end.
+     */
+    private boolean moveToNextValue() throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the value element the reader is positioned on, leaving the reader on its end element.
+     */
+    private Object readValue() throws XMLStreamException {
+        StringBuilder untypedText = new StringBuilder();
+        Object value = null;
+        boolean typed = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if (!typed) {
+                        untypedText.append(reader.getText());
+                    }
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    value = readTypedValue(reader.getLocalName());
+                    typed = true;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    // Values without a type element are strings
+                    return typed ? value : untypedText.toString();
+                default:
+                    break;
+            }
+        }
+        throw new XMLStreamException("Unterminated value");
+    }
+
+    /**
+     * Streams the text of the value element the reader is positioned on, whether typed as string or base64, or
+     * untyped. Other types, such as the false of unset values, give null.
+     */
+    private InputStream openValueStream() throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if (!reader.isWhiteSpace()) {
+                        // Untyped string, starting with this text
+                        CharBuffer firstChunk = CharBuffer.wrap(reader.getText());
+                        return new Base64DecodingInputStream(new ValueTextSource(firstChunk));
+                    }
+                    break;
+                case XMLStreamConstants.START_ELEMENT: {
+                    String typeName = reader.getLocalName();
+                    if (typeName.equals("string") || typeName.equals("base64")) {
+                        return new Base64DecodingInputStream(new ValueTextSource(null));
+                    }
+                    readTypedValue(typeName);
+                    return null;
+                }
+                case XMLStreamConstants.END_ELEMENT:
+                    return null;
+                default:
+                    break;
+            }
+        }
+        throw new XMLStreamException("Unterminated value");
+    }
+
+    private Object readTypedValue(String typeName) throws XMLStreamException {
+        switch (typeName) {
+            case "string":
+                return reader.getElementText();
+            case "int":
+            case "i4":
+                return Integer.parseInt(reader.getElementText().trim());
+            case "i8":
+                return Long.parseLong(reader.getElementText().trim());
+            case "boolean":
+                return reader.getElementText().trim().equals("1");
+            case "double":
+                return Double.parseDouble(reader.getElementText().trim());
+            case "dateTime.iso8601": {
+                LocalDateTime dateTime = LocalDateTime.parse(reader.getElementText().trim(), DATE_TIME_FORMATTER);
+                return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+            }
+            case "base64":
+                return Base64.getMimeDecoder().decode(reader.getElementText());
+            case "nil":
+                reader.getElementText();
+                return null;
+            case "struct":
+                return readStruct();
+            case "array":
+                return readArray();
+            default:
+                throw new XMLStreamException("Unhandled value type " + typeName);
+        }
+    }
+
+    private Map<Object, Object> readStruct() throws XMLStreamException {
+        Map<Object, Object> struct = new HashMap<>();
+        while (moveToNextValue()) {
+            // On a member
+            String name = null;
+            Object value = null;
+            while (moveToNextValue()) {
+                if (reader.getLocalName().equals("name")) {
+                    name = reader.getElementText();
+                } else {
+                    value = readValue();
+                }
+            }
+            struct.put(name, value);
+        }
+        return struct;
+    }
+
+    private Object[] readArray() throws XMLStreamException {
+        List<Object> values = new ArrayList<>();
+        moveToStartElement("data");
+        while (moveToNextValue()) {
+            values.add(readValue());
+        }
+        // Leave the array element
+        moveToNextValue();
+        return values.toArray();
+    }
+
+    /**
+     * The text events of the current element, up to its end. The parser reports long texts in several events.
+     */
+    private class ValueTextSource implements Base64DecodingInputStream.TextChunkSource {
+
+        private CharBuffer pendingChunk;
+        private boolean ended;
+
+        ValueTextSource(CharBuffer firstChunk) {
+            this.pendingChunk = firstChunk;
+        }
+
+        @Override
+        public CharBuffer nextChunk() throws IOException {
+            if (pendingChunk != null) {
+                CharBuffer chunk = pendingChunk;
+                pendingChunk = null;
+                return chunk;
+            }
+            try {
+                while (!ended && reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                        return CharBuffer.wrap(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        ended = true;
+                    }
+                }
+                return null;
+            } catch (XMLStreamException e) {
+                throw new IOException("Unable to parse value: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return inputFactory;
+    }
+}
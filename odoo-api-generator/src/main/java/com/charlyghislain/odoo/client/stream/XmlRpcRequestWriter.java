@@ -0,0 +1,106 @@
+package com.charlyghislain.odoo.client.stream;
+
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes xml-rpc method calls for requests sent outside of the xml-rpc client.
+ */
+public class XmlRpcRequestWriter {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    public static byte[] writeMethodCall(String methodName, List<Object> params) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement("methodCall");
+            writeTextElement(writer, "methodName", methodName);
+            writer.writeStartElement("params");
+            for (Object param : params) {
+                writer.writeStartElement("param");
+                writeValue(writer, param);
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new OdooRuntimeError("Unable to write " + methodName + " request", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static void writeValue(XMLStreamWriter writer, Object value) throws XMLStreamException {
+        writer.writeStartElement("value");
+        if (value == null) {
+            writer.writeEmptyElement("nil");
+        } else if (value instanceof String) {
+            writeTextElement(writer, "string", (String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeTextElement(writer, "int", value.toString());
+        } else if (value instanceof Long) {
+            writeTextElement(writer, "i8", value.toString());
+        } else if (value instanceof Boolean) {
+            writeTextElement(writer, "boolean", (Boolean) value ? "1" : "0");
+        } else if (value instanceof Double || value instanceof Float) {
+            writeTextElement(writer, "double", value.toString());
+        } else if (value instanceof BigDecimal) {
+            writeTextElement(writer, "double", ((BigDecimal) value).toPlainString());
+        } else if (value instanceof Date) {
+            String dateString = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss").format((Date) value);
+            writeTextElement(writer, "dateTime.iso8601", dateString);
+        } else if (value instanceof byte[]) {
+            writeTextElement(writer, "base64", Base64.getEncoder().encodeToString((byte[]) value));
+        } else if (value instanceof List) {
+            writeArray(writer, (List<?>) value);
+        } else if (value instanceof Object[]) {
+            writeArray(writer, List.of((Object[]) value));
+        } else if (value instanceof Map) {
+            writeStruct(writer, (Map<?, ?>) value);
+        } else {
+            throw new OdooRuntimeError("Unsupported xml-rpc value type " + value.getClass());
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeArray(XMLStreamWriter writer, List<?> values) throws XMLStreamException {
+        writer.writeStartElement("array");
+        writer.writeStartElement("data");
+        for (Object value : values) {
+            writeValue(writer, value);
+        }
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private static void writeStruct(XMLStreamWriter writer, Map<?, ?> members) throws XMLStreamException {
+        writer.writeStartElement("struct");
+        for (Map.Entry<?, ?> member : members.entrySet()) {
+            writer.writeStartElement("member");
+            writeTextElement(writer, "name", member.getKey().toString());
+            writeValue(writer, member.getValue());
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeTextElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+}
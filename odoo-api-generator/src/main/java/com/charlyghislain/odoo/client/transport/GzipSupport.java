@@ -0,0 +1,30 @@
+package com.charlyghislain.odoo.client.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip handling for raw posts, following the compression flags of the xml-rpc endpoint config.
+ */
+class GzipSupport {
+
+    static final String GZIP_ENCODING = "gzip";
+
+    static byte[] compress(byte[] content) throws IOException {
+        ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBytes)) {
+            gzipOutputStream.write(content);
+        }
+        return compressedBytes.toByteArray();
+    }
+
+    static InputStream decompress(InputStream inputStream, String contentEncoding) throws IOException {
+        if (contentEncoding != null && contentEncoding.equalsIgnoreCase(GZIP_ENCODING)) {
+            return new GZIPInputStream(inputStream, 8192);
+        }
+        return inputStream;
+    }
+}
@@ -0,0 +1,58 @@
+package com.charlyghislain.odoo.client.transport;
+
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.OdooXmlRpcConstants;
+import com.charlyghislain.odoo.client.stream.JsonRpcRecordIterator;
+import com.charlyghislain.odoo.client.stream.JsonRpcRequestWriter;
+import com.charlyghislain.odoo.client.stream.JsonRpcResponseReader;
+import com.charlyghislain.odoo.client.stream.OdooRecordIterator;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls the /jsonrpc endpoint. Responses are parsed with a streaming json parser.
+ */
+public class JsonRpcOdooTransport implements OdooTransport {
+
+    private static final String CONTENT_TYPE = "application/json";
+
+    private final OdooHttpTransportFactory httpTransportFactory;
+    private final XmlRpcClientConfigImpl endpointConfig;
+    private final AtomicInteger requestIds = new AtomicInteger();
+
+    public JsonRpcOdooTransport(OdooClientConfig clientConfig, OdooHttpTransportFactory httpTransportFactory) {
+        this.httpTransportFactory = httpTransportFactory;
+        // Only the url, timeouts and compression settings are used
+        this.endpointConfig = XmlRpcOdooTransport.createEndpointConfig(clientConfig, OdooXmlRpcConstants.JSONRPC_ENDPOINT_PATH);
+    }
+
+    @Override
+    public Object execute(OdooService service, String method, List<Object> params) throws XmlRpcException {
+        try (InputStream responseStream = post(service, method, params)) {
+            return JsonRpcResponseReader.readResult(responseStream);
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Unable to call " + method + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public OdooRecordIterator executeRecords(OdooService service, String method, List<Object> params) throws XmlRpcException {
+        try {
+            InputStream responseStream = post(service, method, params);
+            return new JsonRpcRecordIterator(responseStream);
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Unable to call " + method + ": " + e.getMessage(), e);
+        }
+    }
+
+    private InputStream post(OdooService service, String method, List<Object> params) throws IOException {
+        byte[] requestBody = JsonRpcRequestWriter.writeCall(requestIds.incrementAndGet(), service.getServiceName(), method, params);
+        return httpTransportFactory.post(endpointConfig, CONTENT_TYPE, requestBody);
+    }
+}
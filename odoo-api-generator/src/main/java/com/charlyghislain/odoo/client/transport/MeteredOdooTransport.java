@@ -0,0 +1,128 @@
+package com.charlyghislain.odoo.client.transport;
+
+import com.charlyghislain.odoo.client.metrics.OdooCallMetrics;
+import com.charlyghislain.odoo.client.metrics.OdooCallStats;
+import com.charlyghislain.odoo.client.stream.OdooRecordIterator;
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the latency of the calls of another transport, per model and method.
+ * <p>
+ * Object calls are tagged with the model and the execute_kw method, others with the service method only.
+ * Streamed record calls are measured until the iterator is closed.
+ */
+public class MeteredOdooTransport implements OdooTransport {
+
+    // execute_kw params: db, uid, password, model, method, args, kwargs
+    private static final int EXECUTE_MODEL_PARAM_INDEX = 3;
+    private static final int EXECUTE_METHOD_PARAM_INDEX = 4;
+
+    private final OdooTransport transport;
+    private final OdooCallMetrics callMetrics;
+
+    public MeteredOdooTransport(OdooTransport transport, OdooCallMetrics callMetrics) {
+        this.transport = transport;
+        this.callMetrics = callMetrics;
+    }
+
+    @Override
+    public Object execute(OdooService service, String method, List<Object> params) throws XmlRpcException {
+        OdooCallStats callStats = getCallStats(service, method, params);
+        long startNanos = System.nanoTime();
+        callStats.callStarted();
+        boolean failed = true;
+        try {
+            Object response = transport.execute(service, method, params);
+            failed = false;
+            return response;
+        } finally {
+            callStats.callCompleted(startNanos, failed);
+        }
+    }
+
+    @Override
+    public OdooRecordIterator executeRecords(OdooService service, String method, List<Object> params) throws XmlRpcException {
+        OdooCallStats callStats = getCallStats(service, method, params);
+        long startNanos = System.nanoTime();
+        callStats.callStarted();
+        OdooRecordIterator recordIterator;
+        try {
+            recordIterator = transport.executeRecords(service, method, params);
+        } catch (XmlRpcException | RuntimeException e) {
+            callStats.callCompleted(startNanos, true);
+            throw e;
+        }
+        return new MeteredRecordIterator(recordIterator, callStats, startNanos);
+    }
+
+    private OdooCallStats getCallStats(OdooService service, String method, List<Object> params) {
+        if (service == OdooService.OBJECT && params.size() > EXECUTE_METHOD_PARAM_INDEX) {
+            String modelName = String.valueOf(params.get(EXECUTE_MODEL_PARAM_INDEX));
+            String modelMethod = String.valueOf(params.get(EXECUTE_METHOD_PARAM_INDEX));
+            return callMetrics.getCallStats(modelName, modelMethod);
+        }
+        return callMetrics.getCallStats("", method);
+    }
+
+    private static class MeteredRecordIterator implements OdooRecordIterator {
+
+        private final OdooRecordIterator recordIterator;
+        private final OdooCallStats callStats;
+        private final long startNanos;
+        private boolean failed;
+        private boolean closed;
+
+        MeteredRecordIterator(OdooRecordIterator recordIterator, OdooCallStats callStats, long startNanos) {
+            this.recordIterator = recordIterator;
+            this.callStats = callStats;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return recordIterator.hasNext();
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public Map<Object, Object> next() {
+            try {
+                return recordIterator.next();
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public InputStream nextBinaryValue(String fieldName) {
+            try {
+                return recordIterator.nextBinaryValue(fieldName);
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                recordIterator.close();
+            } finally {
+                callStats.callCompleted(startNanos, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.charlyghislain.odoo.client.transport;
+
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.client.XmlRpcTransportFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Provides the http layer used by the xml-rpc client.
+ */
+public interface OdooHttpTransportFactory extends AutoCloseable {
+
+    XmlRpcTransportFactory createXmlRpcTransportFactory(XmlRpcClient xmlRpcClient);
+
+    /**
+     * Posts a raw request to the endpoint, bypassing the xml-rpc client so that the response may be streamed.
+     * Closing the returned stream releases the connection.
+     */
+    InputStream post(XmlRpcClientConfigImpl endpointConfig, String contentType, byte[] requestBody) throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,20 @@
+package com.charlyghislain.odoo.client.transport;
+
+import com.charlyghislain.odoo.client.OdooXmlRpcConstants;
+import lombok.Getter;
+
+@Getter
+public enum OdooService {
+    COMMON(OdooXmlRpcConstants.COMMON_SERVICE, OdooXmlRpcConstants.COMMON_ENDPOINT_PATH),
+    OBJECT(OdooXmlRpcConstants.OBJECTS_SERVICE, OdooXmlRpcConstants.OBJECTS_ENDPOINT_PATH),
+    ;
+
+    // Service name for json-rpc calls
+    private final String serviceName;
+    private final String xmlRpcEndpointPath;
+
+    OdooService(String serviceName, String xmlRpcEndpointPath) {
+        this.serviceName = serviceName;
+        this.xmlRpcEndpointPath = xmlRpcEndpointPath;
+    }
+}
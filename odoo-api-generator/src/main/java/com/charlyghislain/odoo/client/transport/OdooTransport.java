@@ -0,0 +1,24 @@
+package com.charlyghislain.odoo.client.transport;
+
+import com.charlyghislain.odoo.client.stream.OdooRecordIterator;
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.util.List;
+
+/**
+ * Remote procedure call protocol used to reach odoo.
+ * <p>
+ * Responses are returned as the xml-rpc client would: arrays as Object[], structs as maps, integers as Integer.
+ * Server faults are raised as {@link XmlRpcException} whatever the protocol.
+ */
+public interface OdooTransport {
+
+    Object execute(OdooService service, String method, List<Object> params) throws XmlRpcException;
+
+    /**
+     * Executes a call returning an array of records, parsing them while iterating.
+     * The iterator must be closed to release the connection.
+     */
+    OdooRecordIterator executeRecords(OdooService service, String method, List<Object> params) throws XmlRpcException;
+
+}
@@ -0,0 +1,6 @@
+package com.charlyghislain.odoo.client.transport;
+
+public enum OdooTransportProtocol {
+    XML_RPC,
+    JSON_RPC,
+}
@@ -0,0 +1,122 @@
+package com.charlyghislain.odoo.client.transport;
+
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import lombok.Getter;
+import org.apache.http.Header;
+import org.apache.http.StatusLine;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.client.XmlRpcTransport;
+import org.apache.xmlrpc.client.XmlRpcTransportFactory;
+import org.apache.xmlrpc.client.XmlRpcTransportFactoryImpl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps connections alive in a pool shared by all calls, so that tcp and tls handshakes are not paid on each call.
+ */
+public class PooledHttpTransportFactory implements OdooHttpTransportFactory {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    @Getter
+    private final CloseableHttpClient httpClient;
+
+    public PooledHttpTransportFactory(OdooClientConfig clientConfig) {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(clientConfig.getHttpMaxConnections());
+        this.connectionManager.setDefaultMaxPerRoute(clientConfig.getHttpMaxConnectionsPerHost());
+        // Revalidate connections the server may have closed in the meantime
+        this.connectionManager.setValidateAfterInactivity(1000);
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(clientConfig.getHttpIdleConnectionTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                // Compression is negotiated by the xml-rpc config
+                .disableContentCompression()
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Override
+    public XmlRpcTransportFactory createXmlRpcTransportFactory(XmlRpcClient xmlRpcClient) {
+        return new XmlRpcTransportFactoryImpl(xmlRpcClient) {
+            @Override
+            public XmlRpcTransport getTransport() {
+                return new PooledXmlRpcTransport(getClient(), httpClient);
+            }
+        };
+    }
+
+    @Override
+    public InputStream post(XmlRpcClientConfigImpl endpointConfig, String contentType, byte[] requestBody) throws IOException {
+        HttpPost post;
+        try {
+            post = new HttpPost(endpointConfig.getServerURL().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid server url " + endpointConfig.getServerURL(), e);
+        }
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(endpointConfig.getConnectionTimeout())
+                .setSocketTimeout(endpointConfig.getReplyTimeout())
+                .build();
+        post.setConfig(requestConfig);
+        if (endpointConfig.isGzipRequesting()) {
+            post.setHeader("Accept-Encoding", GzipSupport.GZIP_ENCODING);
+        }
+        if (endpointConfig.isGzipCompressing()) {
+            post.setHeader("Content-Encoding", GzipSupport.GZIP_ENCODING);
+            post.setEntity(new ByteArrayEntity(GzipSupport.compress(requestBody), ContentType.create(contentType)));
+        } else {
+            post.setEntity(new ByteArrayEntity(requestBody, ContentType.create(contentType)));
+        }
+
+        CloseableHttpResponse response = httpClient.execute(post);
+        StatusLine statusLine = response.getStatusLine();
+        int statusCode = statusLine.getStatusCode();
+        if (statusCode < 200 || statusCode > 299) {
+            response.close();
+            throw new IOException("Unexpected http status " + statusCode + " from " + endpointConfig.getServerURL());
+        }
+        Header encodingHeader = response.getFirstHeader("Content-Encoding");
+        InputStream contentStream = response.getEntity().getContent();
+        InputStream responseStream;
+        try {
+            responseStream = GzipSupport.decompress(contentStream, encodingHeader == null ? null : encodingHeader.getValue());
+        } catch (IOException e) {
+            response.close();
+            throw e;
+        }
+        return new FilterInputStream(responseStream) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    response.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            System.err.println("Unable to close http client: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.charlyghislain.odoo.client.transport;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.StatusLine;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.XmlRpcRequest;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+import org.apache.xmlrpc.client.XmlRpcHttpClientConfig;
+import org.apache.xmlrpc.client.XmlRpcHttpTransport;
+import org.apache.xmlrpc.client.XmlRpcHttpTransportException;
+import org.apache.xmlrpc.common.XmlRpcStreamRequestConfig;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+
+/**
+ * Single xml-rpc call over a pooled http client. The connection is released to the pool once the response is read.
+ */
+class PooledXmlRpcTransport extends XmlRpcHttpTransport {
+
+    private static final String USER_AGENT = XmlRpcHttpTransport.USER_AGENT + " (Apache HttpClient)";
+
+    private final CloseableHttpClient httpClient;
+    private HttpPost post;
+    private CloseableHttpResponse response;
+
+    PooledXmlRpcTransport(XmlRpcClient client, CloseableHttpClient httpClient) {
+        super(client, USER_AGENT);
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    protected void initHttpHeaders(XmlRpcRequest request) throws XmlRpcClientException {
+        XmlRpcHttpClientConfig config = (XmlRpcHttpClientConfig) request.getConfig();
+        try {
+            this.post = new HttpPost(config.getServerURL().toURI());
+        } catch (URISyntaxException e) {
+            throw new XmlRpcClientException("Invalid server url " + config.getServerURL(), e);
+        }
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(config.getConnectionTimeout())
+                .setSocketTimeout(config.getReplyTimeout())
+                .build();
+        this.post.setConfig(requestConfig);
+        super.initHttpHeaders(request);
+    }
+
+    @Override
+    protected void setRequestHeader(String header, String value) {
+        post.setHeader(header, value);
+    }
+
+    @Override
+    protected void setContentLength(int length) {
+        // The entity is buffered, the client computes the length itself
+    }
+
+    @Override
+    protected boolean isUsingByteArrayOutput(XmlRpcHttpClientConfig config) {
+        return false;
+    }
+
+    @Override
+    protected void writeRequest(ReqWriter reqWriter) throws XmlRpcException, IOException, SAXException {
+        ByteArrayOutputStream requestBytes = new ByteArrayOutputStream();
+        reqWriter.write(requestBytes);
+        post.setEntity(new ByteArrayEntity(requestBytes.toByteArray()));
+
+        this.response = httpClient.execute(post);
+        StatusLine statusLine = response.getStatusLine();
+        int statusCode = statusLine.getStatusCode();
+        if (statusCode < 200 || statusCode > 299) {
+            close();
+            throw new XmlRpcHttpTransportException(statusCode, statusLine.getReasonPhrase());
+        }
+    }
+
+    @Override
+    protected InputStream getInputStream() throws XmlRpcException {
+        try {
+            return response.getEntity().getContent();
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Unable to read response: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected boolean isResponseGzipCompressed(XmlRpcStreamRequestConfig config) {
+        Header encodingHeader = response.getFirstHeader("Content-Encoding");
+        return encodingHeader != null && "gzip".equalsIgnoreCase(encodingHeader.getValue());
+    }
+
+    @Override
+    protected void close() throws XmlRpcClientException {
+        if (response == null) {
+            return;
+        }
+        try {
+            // Consuming the remaining content keeps the connection reusable
+            HttpEntity entity = response.getEntity();
+            EntityUtils.consume(entity);
+            response.close();
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Unable to release connection: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.charlyghislain.odoo.client.transport;
+
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.client.XmlRpcSun15HttpTransportFactory;
+import org.apache.xmlrpc.client.XmlRpcTransportFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+
+/**
+ * The xml-rpc library default, opening a {@link java.net.HttpURLConnection} for each call.
+ */
+public class UrlConnectionHttpTransportFactory implements OdooHttpTransportFactory {
+
+    @Override
+    public XmlRpcTransportFactory createXmlRpcTransportFactory(XmlRpcClient xmlRpcClient) {
+        return new XmlRpcSun15HttpTransportFactory(xmlRpcClient);
+    }
+
+    @Override
+    public InputStream post(XmlRpcClientConfigImpl endpointConfig, String contentType, byte[] requestBody) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) endpointConfig.getServerURL().openConnection();
+        connection.setConnectTimeout(endpointConfig.getConnectionTimeout());
+        connection.setReadTimeout(endpointConfig.getReplyTimeout());
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", contentType);
+        if (endpointConfig.isGzipRequesting()) {
+            connection.setRequestProperty("Accept-Encoding", GzipSupport.GZIP_ENCODING);
+        }
+        byte[] body = requestBody;
+        if (endpointConfig.isGzipCompressing()) {
+            connection.setRequestProperty("Content-Encoding", GzipSupport.GZIP_ENCODING);
+            body = GzipSupport.compress(requestBody);
+        }
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(body);
+        }
+        int statusCode = connection.getResponseCode();
+        if (statusCode < 200 || statusCode > 299) {
+            connection.disconnect();
+            throw new IOException("Unexpected http status " + statusCode + " from " + endpointConfig.getServerURL());
+        }
+        return GzipSupport.decompress(connection.getInputStream(), connection.getContentEncoding());
+    }
+
+    @Override
+    public void close() {
+    }
+}
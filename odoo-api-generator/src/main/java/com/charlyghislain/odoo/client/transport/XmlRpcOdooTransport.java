@@ -0,0 +1,75 @@
+package com.charlyghislain.odoo.client.transport;
+
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.charlyghislain.odoo.client.stream.OdooRecordIterator;
+import com.charlyghislain.odoo.client.stream.XmlRpcRecordIterator;
+import com.charlyghislain.odoo.client.stream.XmlRpcRequestWriter;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls the /xmlrpc/2/common and /xmlrpc/2/object endpoints.
+ */
+public class XmlRpcOdooTransport implements OdooTransport {
+
+    private static final String CONTENT_TYPE = "text/xml";
+
+    private final OdooHttpTransportFactory httpTransportFactory;
+    private final XmlRpcClient xmlRpcClient;
+    private final Map<OdooService, XmlRpcClientConfigImpl> endpointConfigs = new EnumMap<>(OdooService.class);
+
+    public XmlRpcOdooTransport(OdooClientConfig clientConfig, OdooHttpTransportFactory httpTransportFactory) {
+        this.httpTransportFactory = httpTransportFactory;
+        this.xmlRpcClient = new XmlRpcClient();
+        this.xmlRpcClient.setTransportFactory(httpTransportFactory.createXmlRpcTransportFactory(xmlRpcClient));
+        for (OdooService service : OdooService.values()) {
+            endpointConfigs.put(service, createEndpointConfig(clientConfig, service.getXmlRpcEndpointPath()));
+        }
+    }
+
+    @Override
+    public Object execute(OdooService service, String method, List<Object> params) throws XmlRpcException {
+        return xmlRpcClient.execute(endpointConfigs.get(service), method, params);
+    }
+
+    @Override
+    public OdooRecordIterator executeRecords(OdooService service, String method, List<Object> params) throws XmlRpcException {
+        byte[] requestBody = XmlRpcRequestWriter.writeMethodCall(method, params);
+        try {
+            InputStream responseStream = httpTransportFactory.post(endpointConfigs.get(service), CONTENT_TYPE, requestBody);
+            return new XmlRpcRecordIterator(responseStream);
+        } catch (IOException e) {
+            throw new XmlRpcClientException("Unable to call " + method + ": " + e.getMessage(), e);
+        }
+    }
+
+    static XmlRpcClientConfigImpl createEndpointConfig(OdooClientConfig clientConfig, String endpointPath) {
+        String apiURl = clientConfig.getApiURl();
+        URL endpointUrl;
+        try {
+            endpointUrl = new URL(apiURl + endpointPath);
+        } catch (MalformedURLException e) {
+            throw new OdooRuntimeError("Invalid api url " + apiURl, e);
+        }
+
+        XmlRpcClientConfigImpl endpointConfig = new XmlRpcClientConfigImpl();
+        endpointConfig.setEnabledForExtensions(true);
+        endpointConfig.setServerURL(endpointUrl);
+        endpointConfig.setConnectionTimeout((int) clientConfig.getHttpConnectTimeout().toMillis());
+        endpointConfig.setReplyTimeout((int) clientConfig.getHttpReadTimeout().toMillis());
+        endpointConfig.setGzipRequesting(clientConfig.isGzipResponses());
+        endpointConfig.setGzipCompressing(clientConfig.isGzipRequests());
+        return endpointConfig;
+    }
+}
@@ -0,0 +1,221 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooModelClient;
+import com.charlyghislain.odoo.client.OdooParserUtils;
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the content of binary fields at /model/{model}/{id}/{field}, decoding it while it is received from odoo.
+ * <p>
+ * For fields stored as attachments, the size and checksum of the ir.attachment record give the content length and
+ * etag, and single byte ranges are supported. Other fields are sent whole with a chunked encoding.
+ */
+public class BinaryFieldStreamer {
+
+    private static final String ATTACHMENT_MODEL = "ir.attachment";
+    private static final List<String> ATTACHMENT_FIELDS = List.of("file_size", "checksum", "mimetype");
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final int COPY_BUFFER_SIZE = 16384;
+
+    private final OdooClient odooClient;
+
+    public BinaryFieldStreamer(OdooClient odooClient) {
+        this.odooClient = odooClient;
+    }
+
+    public void serve(HttpExchange exchange, OdooModelClient modelClient, int id, String fieldName) throws XmlRpcException, IOException {
+        FieldModel fieldModel = modelClient.getFields().get(fieldName);
+        if (fieldModel == null) {
+            throw new OdooProxyError(404, "No field " + fieldName + " in " + modelClient.getOdooModelName());
+        }
+        if (fieldModel.getType() != OdooFieldType.BINARY) {
+            throw new OdooProxyError(400, "The field " + fieldName + " is not a binary field");
+        }
+        Headers requestHeaders = exchange.getRequestHeaders();
+        Headers responseHeaders = exchange.getResponseHeaders();
+        BinaryMetadata metadata = fieldModel.isAttachment() ? findAttachmentMetadata(modelClient, id, fieldName) : null;
+        ByteRange range = null;
+        if (metadata != null) {
+            responseHeaders.set("ETag", metadata.getEtag());
+            responseHeaders.set("Accept-Ranges", "bytes");
+            if (matchesEtag(requestHeaders.getFirst("If-None-Match"), metadata.getEtag())) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            String ifRange = requestHeaders.getFirst("If-Range");
+            if (ifRange == null || ifRange.equals(metadata.getEtag())) {
+                range = ByteRange.parse(requestHeaders.getFirst("Range"), metadata.getSize());
+            }
+            if (range != null && range.isUnsatisfiable()) {
+                responseHeaders.set("Content-Range", "bytes */" + metadata.getSize());
+                exchange.sendResponseHeaders(416, -1);
+                return;
+            }
+        }
+
+        try (InputStream valueStream = modelClient.readBinary(id, fieldName)) {
+            if (valueStream == null) {
+                throw new OdooProxyError(404, "No content for " + fieldName + " of " + modelClient.getOdooModelName() + " " + id);
+            }
+            responseHeaders.set("Content-Type", metadata == null || metadata.getContentType() == null
+                    ? DEFAULT_CONTENT_TYPE
+                    : metadata.getContentType());
+            if (metadata == null) {
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream responseBody = exchange.getResponseBody()) {
+                    valueStream.transferTo(responseBody);
+                }
+                return;
+            }
+            long start = range == null ? 0 : range.getStart();
+            long length = range == null ? metadata.getSize() : range.getLength();
+            if (range != null) {
+                responseHeaders.set("Content-Range", "bytes " + start + "-" + (start + length - 1) + "/" + metadata.getSize());
+            }
+            skipFully(valueStream, start);
+            exchange.sendResponseHeaders(range == null ? 200 : 206, length == 0 ? -1 : length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                copy(valueStream, responseBody, length);
+            }
+        }
+    }
+
+    private BinaryMetadata findAttachmentMetadata(OdooModelClient modelClient, int id, String fieldName) {
+        List<Object> domain = List.of(
+                List.of("res_model", "=", modelClient.getOdooModelName()),
+                List.of("res_field", "=", fieldName),
+                List.of("res_id", "=", id)
+        );
+        try {
+            List<Object> attachments = odooClient.getModelClient(ATTACHMENT_MODEL)
+                    .searchRead(List.of(domain), 0, 1, ATTACHMENT_FIELDS);
+            if (attachments.isEmpty()) {
+                return null;
+            }
+            Map<Object, Object> attachment = OdooParserUtils.parseMap(attachments.get(0), "Attachment");
+            Object checksum = attachment.get("checksum");
+            Object mimetype = attachment.get("mimetype");
+            if (!(checksum instanceof String)) {
+                return null;
+            }
+            long size = OdooParserUtils.parseInt(attachment.get("file_size"), "Attachment file size");
+            return new BinaryMetadata(size, "\"" + checksum + "\"", mimetype instanceof String ? (String) mimetype : null);
+        } catch (XmlRpcException | OdooRuntimeError e) {
+            // Without access to the attachments, the content is still served whole
+            return null;
+        }
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmedCandidate = candidate.trim();
+            if (trimmedCandidate.equals("*") || trimmedCandidate.equals(etag) || trimmedCandidate.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void skipFully(InputStream inputStream, long byteCount) throws IOException {
+        long remaining = byteCount;
+        while (remaining > 0) {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                if (inputStream.read() < 0) {
+                    throw new IOException("Content shorter than its attachment size");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static void copy(InputStream inputStream, OutputStream outputStream, long length) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long remaining = length;
+        while (remaining > 0) {
+            int readLength = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (readLength < 0) {
+                throw new IOException("Content shorter than its attachment size");
+            }
+            outputStream.write(buffer, 0, readLength);
+            remaining -= readLength;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class BinaryMetadata {
+        private final long size;
+        private final String etag;
+        private final String contentType;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class ByteRange {
+        private final long start;
+        private final long length;
+
+        boolean isUnsatisfiable() {
+            return length <= 0;
+        }
+
+        /**
+         * Parses a single range header such as bytes=0-499, bytes=500- or bytes=-500.
+         *
+         * @return the range, or null to send the whole content when there is none, several, or it is invalid
+         */
+        static ByteRange parse(String rangeHeader, long size) {
+            if (rangeHeader == null || !rangeHeader.startsWith("bytes=") || rangeHeader.contains(",")) {
+                return null;
+            }
+            String rangeSpec = rangeHeader.substring("bytes=".length()).trim();
+            int separatorIndex = rangeSpec.indexOf('-');
+            if (separatorIndex < 0) {
+                return null;
+            }
+            try {
+                String firstPosition = rangeSpec.substring(0, separatorIndex).trim();
+                String lastPosition = rangeSpec.substring(separatorIndex + 1).trim();
+                if (firstPosition.isEmpty()) {
+                    long suffixLength = Long.parseLong(lastPosition);
+                    if (suffixLength < 0) {
+                        return null;
+                    }
+                    suffixLength = Math.min(suffixLength, size);
+                    return new ByteRange(size - suffixLength, suffixLength);
+                }
+                long start = Long.parseLong(firstPosition);
+                Long last = lastPosition.isEmpty() ? null : Long.parseLong(lastPosition);
+                if (start < 0 || (last != null && last < start)) {
+                    return null;
+                }
+                if (start >= size) {
+                    return new ByteRange(start, 0);
+                }
+                long end = last == null ? size - 1 : Math.min(last, size - 1);
+                return new ByteRange(start, end - start + 1);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exposes the record cache counters, to tune its size and ttls.
+ */
+public class CacheStatsHandler implements HttpHandler {
+
+    public static final String CONTEXT_PATH = "/cache/stats";
+
+    private final RecordCache recordCache;
+
+    public CacheStatsHandler(RecordCache recordCache) {
+        this.recordCache = recordCache;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = Json.createGenerator(body)) {
+            generator.writeStartObject()
+                    .write("size", recordCache.size())
+                    .write("hits", recordCache.getHitCount().sum())
+                    .write("misses", recordCache.getMissCount().sum())
+                    .write("evictions", recordCache.getEvictionCount().sum())
+                    .write("expirations", recordCache.getExpirationCount().sum())
+                    .write("invalidations", recordCache.getInvalidatedCount().sum())
+                    .writeEnd();
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.size());
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            body.writeTo(responseBody);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.charlyghislain.odoo.client.OdooModelClient;
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the fields parameter of read and list requests into the fields passed to odoo.
+ * <p>
+ * Without parameter, the fields of the excluded types (binary and html by default) are left out. The '*' value
+ * selects all the fields.
+ */
+public class FieldSelection {
+
+    public static final String ALL_FIELDS = "*";
+
+    private final Set<OdooFieldType> defaultExcludedTypes;
+    // Computed once per model, and again after its field definitions have been replaced
+    private final Map<String, DefaultFields> defaultFieldsByModel = new ConcurrentHashMap<>();
+
+    public FieldSelection(Set<OdooFieldType> defaultExcludedTypes) {
+        this.defaultExcludedTypes = defaultExcludedTypes.isEmpty()
+                ? EnumSet.noneOf(OdooFieldType.class)
+                : EnumSet.copyOf(defaultExcludedTypes);
+    }
+
+    /**
+     * @param fieldsParameter comma-separated field names, '*', or null for the default fields
+     * @return the fields to read, empty for all of them
+     */
+    public List<String> resolve(OdooModelClient modelClient, String fieldsParameter) {
+        if (fieldsParameter == null) {
+            return getDefaultFields(modelClient);
+        }
+        if (fieldsParameter.trim().equals(ALL_FIELDS)) {
+            return List.of();
+        }
+        Map<String, FieldModel> fieldModels = modelClient.getFields();
+        List<String> fields = Arrays.stream(fieldsParameter.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        if (fields.isEmpty()) {
+            throw new OdooProxyError(400, "No fields selected");
+        }
+        for (String field : fields) {
+            if (!fieldModels.containsKey(field)) {
+                throw new OdooProxyError(400, "No field " + field + " in " + modelClient.getOdooModelName());
+            }
+        }
+        return fields;
+    }
+
+    private List<String> getDefaultFields(OdooModelClient modelClient) {
+        if (defaultExcludedTypes.isEmpty()) {
+            return List.of();
+        }
+        Map<String, FieldModel> fieldModels = modelClient.getFields();
+        DefaultFields defaultFields = defaultFieldsByModel.get(modelClient.getOdooModelName());
+        if (defaultFields != null && defaultFields.fieldModels == fieldModels) {
+            return defaultFields.fields;
+        }
+        List<String> fields = new ArrayList<>();
+        boolean excludedAny = false;
+        for (Map.Entry<String, FieldModel> fieldEntry : fieldModels.entrySet()) {
+            if (defaultExcludedTypes.contains(fieldEntry.getValue().getType())) {
+                excludedAny = true;
+            } else {
+                fields.add(fieldEntry.getKey());
+            }
+        }
+        // Sorted, so that the cache and batch keys do not depend on the map order.
+        // Nothing excluded: omit the list from the odoo call
+        fields.sort(null);
+        List<String> resolvedFields = excludedAny ? List.copyOf(fields) : List.of();
+        defaultFieldsByModel.put(modelClient.getOdooModelName(), new DefaultFields(fieldModels, resolvedFields));
+        return resolvedFields;
+    }
+
+    @AllArgsConstructor
+    private static class DefaultFields {
+        private final Map<String, FieldModel> fieldModels;
+        private final List<String> fields;
+    }
+}
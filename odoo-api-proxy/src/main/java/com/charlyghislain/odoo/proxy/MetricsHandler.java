@@ -0,0 +1,50 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.charlyghislain.odoo.client.metrics.OdooCallMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exposes the odoo call and record cache metrics in the prometheus text format.
+ */
+public class MetricsHandler implements HttpHandler {
+
+    public static final String CONTEXT_PATH = "/metrics";
+
+    private final OdooCallMetrics callMetrics;
+    private final RecordCache recordCache;
+
+    public MetricsHandler(OdooCallMetrics callMetrics, RecordCache recordCache) {
+        this.callMetrics = callMetrics;
+        this.recordCache = recordCache;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        StringWriter bodyWriter = new StringWriter();
+        callMetrics.writePrometheus(bodyWriter);
+        writeCacheMetric(bodyWriter, "odoo_proxy_record_cache_size", "gauge", recordCache.size());
+        writeCacheMetric(bodyWriter, "odoo_proxy_record_cache_hits_total", "counter", recordCache.getHitCount().sum());
+        writeCacheMetric(bodyWriter, "odoo_proxy_record_cache_misses_total", "counter", recordCache.getMissCount().sum());
+        writeCacheMetric(bodyWriter, "odoo_proxy_record_cache_evictions_total", "counter", recordCache.getEvictionCount().sum());
+        writeCacheMetric(bodyWriter, "odoo_proxy_record_cache_expirations_total", "counter", recordCache.getExpirationCount().sum());
+        writeCacheMetric(bodyWriter, "odoo_proxy_record_cache_invalidations_total", "counter", recordCache.getInvalidatedCount().sum());
+
+        byte[] body = bodyWriter.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private void writeCacheMetric(StringWriter writer, String name, String type, long value) {
+        writer.write("# TYPE " + name + " " + type + "\n");
+        writer.write(name + " " + value + "\n");
+    }
+}
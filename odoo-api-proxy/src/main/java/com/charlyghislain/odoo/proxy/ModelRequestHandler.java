@@ -0,0 +1,300 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooFaultKind;
+import com.charlyghislain.odoo.client.OdooKeysetCursor;
+import com.charlyghislain.odoo.client.OdooKeysetPage;
+import com.charlyghislain.odoo.client.OdooModelClient;
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.apache.xmlrpc.XmlRpcException;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Serves the /model/{model}, /model/{model}/{id} and /model/{model}/{id}/{field} operations of the generated spec.
+ * <p>
+ * Reads and lists accept a fields query parameter, see {@link FieldSelection}. Lists are paginated with an opaque
+ * cursor returned with each page. Binary field contents are streamed by {@link BinaryFieldStreamer}.
+ */
+public class ModelRequestHandler implements HttpHandler {
+
+    public static final String CONTEXT_PATH = "/model/";
+
+    public static final String QUERY_PARAM_FIELDS = "fields";
+    public static final String QUERY_PARAM_LIMIT = "limit";
+    public static final String QUERY_PARAM_CURSOR = "cursor";
+
+    private final OdooClient odooClient;
+    private final OdooProxyConfig proxyConfig;
+    private final RouteConcurrencyLimiter concurrencyLimiter;
+    private final RecordCache recordCache;
+    private final FieldSelection fieldSelection;
+    private final BinaryFieldStreamer binaryFieldStreamer;
+
+    public ModelRequestHandler(OdooClient odooClient, OdooProxyConfig proxyConfig, RouteConcurrencyLimiter concurrencyLimiter,
+                               RecordCache recordCache, FieldSelection fieldSelection) {
+        this.odooClient = odooClient;
+        this.proxyConfig = proxyConfig;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.recordCache = recordCache;
+        this.fieldSelection = fieldSelection;
+        this.binaryFieldStreamer = new BinaryFieldStreamer(odooClient);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String[] pathParts = path.substring(CONTEXT_PATH.length()).split("/");
+            String modelName = pathParts[0];
+            if (modelName.isEmpty() || pathParts.length > 3) {
+                throw new OdooProxyError(404, "No route for " + path);
+            }
+            Integer id = pathParts.length >= 2 ? parseId(pathParts[1]) : null;
+            String fieldName = pathParts.length == 3 ? pathParts[2] : null;
+            ModelRoute route = fieldName != null
+                    ? findBinaryRoute(exchange.getRequestMethod())
+                    : findRoute(exchange.getRequestMethod(), id != null);
+            Map<String, String> queryParameters = parseQueryParameters(exchange.getRequestURI().getRawQuery());
+            OdooModelClient modelClient = odooClient.getModelClient(modelName);
+
+            concurrencyLimiter.run(route, () -> serveRoute(exchange, route, modelClient, id, fieldName, queryParameters));
+        } catch (OdooProxyError e) {
+            sendError(exchange, e.getStatus(), e.getMessage());
+        } catch (OdooRuntimeError e) {
+            sendError(exchange, getFaultStatus(e), e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Unable to serve " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serveRoute(HttpExchange exchange, ModelRoute route, OdooModelClient modelClient, Integer id,
+                            String fieldName, Map<String, String> queryParameters) {
+        try {
+            switch (route) {
+                case READ:
+                    serveRead(exchange, modelClient, id, queryParameters);
+                    break;
+                case LIST:
+                    serveList(exchange, modelClient, queryParameters);
+                    break;
+                case READ_BINARY:
+                    binaryFieldStreamer.serve(exchange, modelClient, id, fieldName);
+                    break;
+                case CREATE:
+                    serveCreate(exchange, modelClient, queryParameters);
+                    break;
+                case UPDATE:
+                    serveUpdate(exchange, modelClient, id, queryParameters);
+                    break;
+                case DELETE:
+                    serveDelete(exchange, modelClient, id);
+                    break;
+                default:
+                    throw new OdooProxyError(405, "Unhandled route " + route);
+            }
+        } catch (XmlRpcException e) {
+            throw new OdooRuntimeError(e.getMessage(), e);
+        } catch (IOException e) {
+            throw new OdooProxyError(500, "Unable to write response: " + e.getMessage(), e);
+        }
+    }
+
+    private void serveRead(HttpExchange exchange, OdooModelClient modelClient, int id, Map<String, String> queryParameters)
+            throws XmlRpcException, IOException {
+        List<String> fields = fieldSelection.resolve(modelClient, queryParameters.get(QUERY_PARAM_FIELDS));
+        Map<Object, Object> record = readRecord(modelClient, id, fields);
+        sendJson(exchange, 200, generator -> RecordJsonMapper.writeRecord(generator, modelClient.getRecordDecoder(), record));
+    }
+
+    private void serveList(HttpExchange exchange, OdooModelClient modelClient, Map<String, String> queryParameters)
+            throws XmlRpcException, IOException {
+        List<String> fields = fieldSelection.resolve(modelClient, queryParameters.get(QUERY_PARAM_FIELDS));
+        int limit = parseLimit(queryParameters.get(QUERY_PARAM_LIMIT));
+        String cursor = queryParameters.get(QUERY_PARAM_CURSOR);
+        try {
+            OdooKeysetCursor.decode(cursor);
+        } catch (OdooRuntimeError e) {
+            throw new OdooProxyError(400, e.getMessage());
+        }
+        OdooKeysetPage page = modelClient.searchReadAfter(List.of(), cursor, limit, fields);
+        sendJson(exchange, 200, generator -> {
+            generator.writeStartObject();
+            generator.writeStartArray("records");
+            for (Map<Object, Object> record : page.getRecords()) {
+                RecordJsonMapper.writeRecord(generator, modelClient.getRecordDecoder(), record);
+            }
+            generator.writeEnd();
+            if (page.getNextCursor() == null) {
+                generator.writeNull("nextCursor");
+            } else {
+                generator.write("nextCursor", page.getNextCursor());
+            }
+            generator.writeEnd();
+        });
+    }
+
+    private void serveCreate(HttpExchange exchange, OdooModelClient modelClient, Map<String, String> queryParameters)
+            throws XmlRpcException, IOException {
+        Map<String, Object> values = RecordJsonMapper.readValues(exchange.getRequestBody(), modelClient.getFields());
+        int id = modelClient.create(values);
+        serveRead(exchange, modelClient, id, queryParameters);
+    }
+
+    private void serveUpdate(HttpExchange exchange, OdooModelClient modelClient, int id, Map<String, String> queryParameters)
+            throws XmlRpcException, IOException {
+        Map<String, Object> values = RecordJsonMapper.readValues(exchange.getRequestBody(), modelClient.getFields());
+        try {
+            modelClient.write(id, values);
+        } finally {
+            // Even when failing, the write may have been applied
+            recordCache.invalidate(modelClient.getOdooModelName(), id);
+        }
+        serveRead(exchange, modelClient, id, queryParameters);
+    }
+
+    private void serveDelete(HttpExchange exchange, OdooModelClient modelClient, int id) throws XmlRpcException, IOException {
+        try {
+            modelClient.unlink(id);
+        } finally {
+            recordCache.invalidate(modelClient.getOdooModelName(), id);
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private Map<Object, Object> readRecord(OdooModelClient modelClient, int id, List<String> fields) throws XmlRpcException {
+        Map<Object, Object> record = recordCache.getRecord(modelClient.getOdooModelName(), id, fields,
+                () -> modelClient.readBatched(id, fields));
+        if (record == null) {
+            throw new OdooProxyError(404, "No " + modelClient.getOdooModelName() + " with id " + id);
+        }
+        return record;
+    }
+
+    private ModelRoute findRoute(String method, boolean withId) {
+        switch (method) {
+            case "GET":
+                return withId ? ModelRoute.READ : ModelRoute.LIST;
+            case "POST":
+                if (!withId) {
+                    return ModelRoute.CREATE;
+                }
+                break;
+            case "PUT":
+                if (withId) {
+                    return ModelRoute.UPDATE;
+                }
+                break;
+            case "DELETE":
+                if (withId) {
+                    return ModelRoute.DELETE;
+                }
+                break;
+        }
+        throw new OdooProxyError(405, "Method " + method + " not allowed");
+    }
+
+    private ModelRoute findBinaryRoute(String method) {
+        if (method.equals("GET")) {
+            return ModelRoute.READ_BINARY;
+        }
+        throw new OdooProxyError(405, "Method " + method + " not allowed");
+    }
+
+    private Integer parseId(String idString) {
+        try {
+            return Integer.parseInt(idString);
+        } catch (NumberFormatException e) {
+            throw new OdooProxyError(400, "Invalid id " + idString);
+        }
+    }
+
+    private int parseLimit(String limitString) {
+        if (limitString == null) {
+            return proxyConfig.getListDefaultLimit();
+        }
+        try {
+            int limit = Integer.parseInt(limitString);
+            if (limit < 1 || limit > proxyConfig.getListMaxLimit()) {
+                throw new OdooProxyError(400, "The limit must be between 1 and " + proxyConfig.getListMaxLimit());
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new OdooProxyError(400, "Invalid limit " + limitString);
+        }
+    }
+
+    private Map<String, String> parseQueryParameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        try {
+            for (String parameter : rawQuery.split("&")) {
+                int separatorIndex = parameter.indexOf('=');
+                String name = separatorIndex < 0 ? parameter : parameter.substring(0, separatorIndex);
+                String value = separatorIndex < 0 ? "" : parameter.substring(separatorIndex + 1);
+                parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new OdooProxyError(400, "Invalid query " + rawQuery);
+        }
+        return parameters;
+    }
+
+    /**
+     * Faults caused by the request get a 4xx status, so that clients do not retry them. Transport failures, refused
+     * proxy credentials and other odoo errors get a 502.
+     */
+    private int getFaultStatus(OdooRuntimeError error) {
+        switch (OdooFaultKind.of(error)) {
+            case MISSING_RECORD:
+                return 404;
+            case ACCESS_ERROR:
+                return 403;
+            case USER_ERROR:
+                return 422;
+            default:
+                return 502;
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Consumer<JsonGenerator> bodyWriter) throws IOException {
+        // Buffered so that the content length is known and the connection kept alive
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = Json.createGenerator(body)) {
+            bodyWriter.accept(generator);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.size());
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            body.writeTo(responseBody);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) {
+        try {
+            sendJson(exchange, status, generator -> generator.writeStartObject()
+                    .write("status", status)
+                    .write("message", String.valueOf(message))
+                    .writeEnd());
+        } catch (IOException e) {
+            // Headers already sent or client gone
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.charlyghislain.odoo.proxy;
+
+/**
+ * The operations declared by the generated spec for each model.
+ */
+public enum ModelRoute {
+    // POST /model/{model}
+    CREATE,
+    // GET /model/{model}/{id}
+    READ,
+    // GET /model/{model}
+    LIST,
+    // GET /model/{model}/{id}/{field}, for binary fields
+    READ_BINARY,
+    // PUT /model/{model}/{id}
+    UPDATE,
+    // DELETE /model/{model}/{id}
+    DELETE,
+    ;
+
+    public boolean isRead() {
+        return this == READ || this == LIST || this == READ_BINARY;
+    }
+}
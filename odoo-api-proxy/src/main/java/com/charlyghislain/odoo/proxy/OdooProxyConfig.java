@@ -0,0 +1,45 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.charlyghislain.odoo.OpenApiModelGenerator;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+public class OdooProxyConfig {
+
+    private int port = 8080;
+    private int backlog = 1024;
+    // Odoo calls block the request thread, so the pool is sized for concurrent calls rather than for cpus
+    private int maxThreads = 256;
+
+    // Maximum number of concurrent requests per route. Requests waiting longer than acquireTimeout get a 503.
+    private int readConcurrency = 128;
+    private int writeConcurrency = 32;
+    private Duration acquireTimeout = Duration.ofMillis(500);
+
+    // Records kept by the read cache. A zero size or ttl disables it
+    private int recordCacheSize = 10000;
+    private Duration recordCacheTtl = Duration.ofSeconds(30);
+    // Ttl overrides per model name
+    private Map<String, Duration> recordCacheModelTtls = new HashMap<>();
+
+    // Field types left out of reads and lists not selecting their fields explicitly
+    private Set<OdooFieldType> defaultExcludedFieldTypes = EnumSet.copyOf(OpenApiModelGenerator.DEFAULT_EXCLUDED_FIELD_TYPES);
+    // Records per page of the list operation, declared in the spec by the generator settings of the same name
+    private int listDefaultLimit = OpenApiModelGenerator.DEFAULT_LIST_LIMIT;
+    private int listMaxLimit = OpenApiModelGenerator.DEFAULT_LIST_MAX_LIMIT;
+
+    // Field definitions loaded on start and saved periodically and on close. Null disables the snapshot
+    private Path metadataSnapshotFile;
+    private Duration metadataSnapshotSaveInterval = Duration.ofMinutes(10);
+
+}
@@ -0,0 +1,24 @@
+package com.charlyghislain.odoo.proxy;
+
+import lombok.Getter;
+
+/**
+ * Error returned to the http client with the given status.
+ */
+public class OdooProxyError extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    @Getter
+    private final int status;
+
+    public OdooProxyError(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public OdooProxyError(int status, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+}
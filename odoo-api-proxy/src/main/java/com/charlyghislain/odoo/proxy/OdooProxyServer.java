@@ -0,0 +1,209 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.charlyghislain.odoo.client.OdooApiCredentials;
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.OdooRuntimeError;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rest api proxy serving the routes of the generated spec using odoo as a backend.
+ */
+public class OdooProxyServer implements AutoCloseable {
+
+    private final OdooClient odooClient;
+    private final OdooProxyConfig proxyConfig;
+    private HttpServer httpServer;
+    private ThreadPoolExecutor requestExecutor;
+    private ScheduledExecutorService snapshotExecutor;
+
+    public OdooProxyServer(OdooClient odooClient, OdooProxyConfig proxyConfig) {
+        this.odooClient = odooClient;
+        this.proxyConfig = proxyConfig;
+    }
+
+    public void start() throws IOException {
+        Path snapshotFile = proxyConfig.getMetadataSnapshotFile();
+        if (snapshotFile != null) {
+            loadMetadataSnapshot(snapshotFile);
+            long saveIntervalMillis = proxyConfig.getMetadataSnapshotSaveInterval().toMillis();
+            this.snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "odoo-proxy-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotExecutor.scheduleWithFixedDelay(() -> saveMetadataSnapshot(snapshotFile),
+                    saveIntervalMillis, saveIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.requestExecutor = new ThreadPoolExecutor(proxyConfig.getMaxThreads(), proxyConfig.getMaxThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "odoo-proxy-" + threadIndex.incrementAndGet()));
+        this.requestExecutor.allowCoreThreadTimeOut(true);
+
+        RouteConcurrencyLimiter concurrencyLimiter = new RouteConcurrencyLimiter(
+                route -> route.isRead() ? proxyConfig.getReadConcurrency() : proxyConfig.getWriteConcurrency(),
+                proxyConfig.getAcquireTimeout());
+        RecordCache recordCache = new RecordCache(proxyConfig.getRecordCacheSize(), proxyConfig.getRecordCacheTtl(),
+                proxyConfig.getRecordCacheModelTtls());
+        FieldSelection fieldSelection = new FieldSelection(proxyConfig.getDefaultExcludedFieldTypes());
+        ModelRequestHandler modelRequestHandler = new ModelRequestHandler(odooClient, proxyConfig, concurrencyLimiter,
+                recordCache, fieldSelection);
+
+        this.httpServer = HttpServer.create(new InetSocketAddress(proxyConfig.getPort()), proxyConfig.getBacklog());
+        this.httpServer.createContext(ModelRequestHandler.CONTEXT_PATH, modelRequestHandler);
+        this.httpServer.createContext(CacheStatsHandler.CONTEXT_PATH, new CacheStatsHandler(recordCache));
+        this.httpServer.createContext(MetricsHandler.CONTEXT_PATH, new MetricsHandler(odooClient.getCallMetrics(), recordCache));
+        this.httpServer.setExecutor(requestExecutor);
+        this.httpServer.start();
+        System.out.println("Odoo proxy listening on port " + httpServer.getAddress().getPort());
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        if (httpServer != null) {
+            httpServer.stop(1);
+        }
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdownNow();
+            saveMetadataSnapshot(proxyConfig.getMetadataSnapshotFile());
+        }
+    }
+
+    private void loadMetadataSnapshot(Path snapshotFile) {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            odooClient.loadFieldsSnapshot(snapshotFile);
+            System.out.println("Loaded field definitions from " + snapshotFile);
+        } catch (IOException | OdooRuntimeError e) {
+            System.err.println("Unable to load the metadata snapshot " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+
+    private void saveMetadataSnapshot(Path snapshotFile) {
+        try {
+            odooClient.writeFieldsSnapshot(snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Unable to save the metadata snapshot " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses api users in the form user1:key1,user2:key2
+     */
+    private static List<OdooApiCredentials> parseApiUserPool(String userPoolString) {
+        List<OdooApiCredentials> apiUsers = new ArrayList<>();
+        for (String userCredentials : userPoolString.split(",")) {
+            int separatorIndex = userCredentials.indexOf(':');
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Invalid api user credentials for " + userCredentials);
+            }
+            apiUsers.add(new OdooApiCredentials(userCredentials.substring(0, separatorIndex).trim(),
+                    userCredentials.substring(separatorIndex + 1).trim()));
+        }
+        return apiUsers;
+    }
+
+    public static OdooProxyConfig createConfigFromSystemProperties() {
+        OdooProxyConfig proxyConfig = new OdooProxyConfig();
+        Optional.ofNullable(System.getProperty("proxy.port"))
+                .map(Integer::parseInt)
+                .ifPresent(proxyConfig::setPort);
+        Optional.ofNullable(System.getProperty("proxy.maxThreads"))
+                .map(Integer::parseInt)
+                .ifPresent(proxyConfig::setMaxThreads);
+        Optional.ofNullable(System.getProperty("proxy.readConcurrency"))
+                .map(Integer::parseInt)
+                .ifPresent(proxyConfig::setReadConcurrency);
+        Optional.ofNullable(System.getProperty("proxy.writeConcurrency"))
+                .map(Integer::parseInt)
+                .ifPresent(proxyConfig::setWriteConcurrency);
+        Optional.ofNullable(System.getProperty("proxy.cache.size"))
+                .map(Integer::parseInt)
+                .ifPresent(proxyConfig::setRecordCacheSize);
+        Optional.ofNullable(System.getProperty("proxy.cache.ttlSeconds"))
+                .map(Long::parseLong)
+                .map(Duration::ofSeconds)
+                .ifPresent(proxyConfig::setRecordCacheTtl);
+        Optional.ofNullable(System.getProperty("proxy.cache.modelTtlSeconds"))
+                .map(RecordCache::parseModelTtls)
+                .ifPresent(proxyConfig::setRecordCacheModelTtls);
+        Optional.ofNullable(System.getProperty("proxy.defaultExcludedFieldTypes"))
+                .map(OdooFieldType::parseTypeNames)
+                .ifPresent(proxyConfig::setDefaultExcludedFieldTypes);
+        Optional.ofNullable(System.getProperty("proxy.listDefaultLimit"))
+                .map(Integer::parseInt)
+                .ifPresent(proxyConfig::setListDefaultLimit);
+        Optional.ofNullable(System.getProperty("proxy.listMaxLimit"))
+                .map(Integer::parseInt)
+                .ifPresent(proxyConfig::setListMaxLimit);
+        Optional.ofNullable(System.getProperty("proxy.metadataSnapshot"))
+                .map(Paths::get)
+                .ifPresent(proxyConfig::setMetadataSnapshotFile);
+        return proxyConfig;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String apiUri = System.getProperty("odoo.api.uri");
+        String apiUser = System.getProperty("odoo.api.user");
+        String apiKey = System.getProperty("odoo.api.key");
+        String apiDb = System.getProperty("odoo.api.db");
+
+        OdooClientConfig clientConfig = new OdooClientConfig();
+        clientConfig.setApiDb(apiDb);
+        clientConfig.setApiPassword(apiKey);
+        clientConfig.setApiURl(apiUri);
+        clientConfig.setApiUser(apiUser);
+
+        Optional.ofNullable(System.getProperty("odoo.api.userPool"))
+                .map(OdooProxyServer::parseApiUserPool)
+                .ifPresent(clientConfig::setApiUserPool);
+
+        OdooProxyConfig proxyConfig = createConfigFromSystemProperties();
+        Optional.ofNullable(System.getProperty("proxy.readBatchWindowMillis"))
+                .map(Long::parseLong)
+                .map(Duration::ofMillis)
+                .ifPresent(clientConfig::setReadBatchWindow);
+        Optional.ofNullable(System.getProperty("proxy.readBatchMaxSize"))
+                .map(Integer::parseInt)
+                .ifPresent(clientConfig::setReadBatchMaxSize);
+        // Odoo connections are taken by request threads
+        clientConfig.setHttpMaxConnections(proxyConfig.getMaxThreads());
+        clientConfig.setHttpMaxConnectionsPerHost(proxyConfig.getMaxThreads());
+
+        OdooClient odooClient = new OdooClient(clientConfig);
+        OdooProxyServer proxyServer = new OdooProxyServer(odooClient, proxyConfig);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            proxyServer.close();
+            odooClient.close();
+        }));
+        proxyServer.start();
+    }
+}
@@ -0,0 +1,185 @@
+package com.charlyghislain.odoo.proxy;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe read-through cache of raw records, keyed by model, id and field set.
+ * <p>
+ * Entries expire after the ttl of their model and the least recently used ones are evicted above the maximum size.
+ * Writes through the proxy invalidate all the entries of the record.
+ */
+public class RecordCache {
+
+    private final int maxSize;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> modelTtls;
+
+    private final Map<RecordCacheKey, CachedRecord> entries;
+    // All the field sets cached per record, to invalidate them at once
+    private final Map<RecordId, Set<RecordCacheKey>> recordKeys = new HashMap<>();
+    // Incremented on each invalidation, so that a read started before it does not cache a stale record
+    private long invalidationSequence;
+
+    @Getter
+    private final LongAdder hitCount = new LongAdder();
+    @Getter
+    private final LongAdder missCount = new LongAdder();
+    @Getter
+    private final LongAdder evictionCount = new LongAdder();
+    @Getter
+    private final LongAdder expirationCount = new LongAdder();
+    @Getter
+    private final LongAdder invalidatedCount = new LongAdder();
+
+    public RecordCache(int maxSize, Duration defaultTtl, Map<String, Duration> modelTtls) {
+        this.maxSize = maxSize;
+        this.defaultTtl = defaultTtl;
+        this.modelTtls = Map.copyOf(modelTtls);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RecordCacheKey, CachedRecord> eldest) {
+                if (size() > RecordCache.this.maxSize) {
+                    removeRecordKey(eldest.getKey());
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached record, or loads it outside of the cache lock and caches it.
+     *
+     * @param loader returns the record, or null when it does not exist
+     */
+    public <E extends Exception> Map<Object, Object> getRecord(String modelName, int id, List<String> fields,
+                                                                RecordLoader<E> loader) throws E {
+        Duration ttl = getTtl(modelName);
+        if (ttl.isZero() || maxSize <= 0) {
+            return loader.load();
+        }
+        RecordCacheKey cacheKey = new RecordCacheKey(modelName, id, List.copyOf(fields));
+        long loadStamp;
+        synchronized (this) {
+            CachedRecord cachedRecord = entries.get(cacheKey);
+            if (cachedRecord != null) {
+                if (cachedRecord.getExpiresAtNanos() - System.nanoTime() > 0) {
+                    hitCount.increment();
+                    return cachedRecord.getRecord();
+                }
+                removeEntry(cacheKey);
+                expirationCount.increment();
+            }
+            missCount.increment();
+            loadStamp = invalidationSequence;
+        }
+
+        Map<Object, Object> record = loader.load();
+        if (record == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (invalidationSequence == loadStamp) {
+                entries.put(cacheKey, new CachedRecord(record, System.nanoTime() + ttl.toNanos()));
+                recordKeys.computeIfAbsent(cacheKey.getRecordId(), k -> new HashSet<>()).add(cacheKey);
+            }
+        }
+        return record;
+    }
+
+    public synchronized void invalidate(String modelName, int id) {
+        invalidationSequence++;
+        Set<RecordCacheKey> keys = recordKeys.remove(new RecordId(modelName, id));
+        if (keys == null) {
+            return;
+        }
+        keys.forEach(entries::remove);
+        invalidatedCount.add(keys.size());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Duration getTtl(String modelName) {
+        return Optional.ofNullable(modelTtls.get(modelName))
+                .orElse(defaultTtl);
+    }
+
+    private void removeEntry(RecordCacheKey cacheKey) {
+        entries.remove(cacheKey);
+        removeRecordKey(cacheKey);
+    }
+
+    private void removeRecordKey(RecordCacheKey cacheKey) {
+        RecordId recordId = cacheKey.getRecordId();
+        Set<RecordCacheKey> keys = recordKeys.get(recordId);
+        if (keys != null) {
+            keys.remove(cacheKey);
+            if (keys.isEmpty()) {
+                recordKeys.remove(recordId);
+            }
+        }
+    }
+
+    /**
+     * Parses ttls overrides in the form model1=seconds,model2=seconds
+     */
+    public static Map<String, Duration> parseModelTtls(String ttlsString) {
+        Map<String, Duration> ttls = new HashMap<>();
+        for (String modelTtl : ttlsString.split(",")) {
+            String[] modelTtlParts = modelTtl.trim().split("=");
+            if (modelTtlParts.length != 2) {
+                throw new IllegalArgumentException("Invalid model ttl " + modelTtl);
+            }
+            ttls.put(modelTtlParts[0].trim(), Duration.ofSeconds(Long.parseLong(modelTtlParts[1].trim())));
+        }
+        return ttls;
+    }
+
+    @FunctionalInterface
+    public interface RecordLoader<E extends Exception> {
+        Map<Object, Object> load() throws E;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class RecordId {
+        private final String modelName;
+        private final int id;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class RecordCacheKey {
+        private final String modelName;
+        private final int id;
+        private final List<String> fields;
+
+        RecordId getRecordId() {
+            return new RecordId(modelName, id);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedRecord {
+        private final Map<Object, Object> record;
+        private final long expiresAtNanos;
+    }
+}
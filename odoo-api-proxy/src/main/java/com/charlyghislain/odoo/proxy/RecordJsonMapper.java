@@ -0,0 +1,168 @@
+package com.charlyghislain.odoo.proxy;
+
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.fields.ForeignKey;
+import com.charlyghislain.odoo.client.fields.MonetaryValue;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import com.charlyghislain.odoo.client.record.OdooRecord;
+import com.charlyghislain.odoo.client.record.OdooRecordDecoder;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Converts records between odoo values and the json representation declared by the generated spec.
+ */
+public class RecordJsonMapper {
+
+    private static final DateTimeFormatter ODOO_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // The command replacing all the records of a x2many relation: (6, 0, ids)
+    private static final int X2MANY_COMMAND_SET = 6;
+
+    /**
+     * Writes the fields present in the raw record.
+     */
+    public static void writeRecord(JsonGenerator generator, OdooRecordDecoder decoder, Map<Object, Object> rawRecord) {
+        OdooRecord record = decoder.decode(rawRecord);
+        generator.writeStartObject();
+        for (Object key : rawRecord.keySet()) {
+            int index = decoder.indexOf((String) key);
+            if (index < 0) {
+                continue;
+            }
+            generator.writeKey(decoder.getFieldName(index));
+            writeValue(generator, decoder.getFieldType(index), record.get(index));
+        }
+        generator.writeEnd();
+    }
+
+    private static void writeValue(JsonGenerator generator, OdooFieldType fieldType, Object value) {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        switch (fieldType) {
+            case BOOLEAN:
+                generator.write((Boolean) value);
+                break;
+            case INTEGER:
+            case MANY_TO_ONE_REFERENCE:
+                generator.write((Integer) value);
+                break;
+            case FLOAT:
+                generator.write((BigDecimal) value);
+                break;
+            case MONETARY:
+                generator.write(((MonetaryValue) value).getAmount());
+                break;
+            case DATETIME:
+                // Odoo datetimes are in utc
+                generator.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format((LocalDateTime) value) + "Z");
+                break;
+            case MANY_TO_ONE:
+                generator.write(((ForeignKey<?>) value).getId());
+                break;
+            case ONE_TO_MANY:
+            case MANY_TO_MANY: {
+                generator.writeStartArray();
+                for (int id : (int[]) value) {
+                    generator.write(id);
+                }
+                generator.writeEnd();
+                break;
+            }
+            case BINARY:
+                generator.write(Base64.getEncoder().encodeToString((byte[]) value));
+                break;
+            default:
+                generator.write(value.toString());
+                break;
+        }
+    }
+
+    /**
+     * Reads the values of a create or write request body.
+     */
+    public static Map<String, Object> readValues(InputStream body, Map<String, FieldModel> fieldModels) {
+        JsonObject jsonObject;
+        try (JsonReader reader = Json.createReader(body)) {
+            jsonObject = reader.readObject();
+        } catch (JsonException | IllegalStateException e) {
+            throw new OdooProxyError(400, "Invalid json body: " + e.getMessage(), e);
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, JsonValue> entry : jsonObject.entrySet()) {
+            String fieldName = entry.getKey();
+            FieldModel fieldModel = fieldModels.get(fieldName);
+            if (fieldModel == null) {
+                throw new OdooProxyError(400, "Unknown field " + fieldName);
+            }
+            try {
+                values.put(fieldName, readValue(fieldModel.getType(), entry.getValue()));
+            } catch (ClassCastException | ArithmeticException | DateTimeParseException e) {
+                throw new OdooProxyError(400, "Invalid value for field " + fieldName + ": " + entry.getValue(), e);
+            }
+        }
+        return values;
+    }
+
+    private static Object readValue(OdooFieldType fieldType, JsonValue value) {
+        if (value.getValueType() == JsonValue.ValueType.NULL) {
+            return false;
+        }
+        switch (fieldType) {
+            case BOOLEAN:
+                if (value.getValueType() != JsonValue.ValueType.TRUE && value.getValueType() != JsonValue.ValueType.FALSE) {
+                    throw new ClassCastException("Not a boolean");
+                }
+                return value.getValueType() == JsonValue.ValueType.TRUE;
+            case INTEGER:
+            case MANY_TO_ONE:
+            case MANY_TO_ONE_REFERENCE:
+                return ((JsonNumber) value).intValueExact();
+            case FLOAT:
+            case MONETARY:
+                return ((JsonNumber) value).doubleValue();
+            case DATETIME: {
+                String dateTimeString = ((JsonString) value).getString();
+                TemporalAccessor dateTime = DateTimeFormatter.ISO_DATE_TIME.parseBest(dateTimeString,
+                        OffsetDateTime::from, LocalDateTime::from);
+                // Values without an offset are in utc, as odoo stores them
+                LocalDateTime utcDateTime = dateTime instanceof OffsetDateTime
+                        ? ((OffsetDateTime) dateTime).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()
+                        : (LocalDateTime) dateTime;
+                return ODOO_DATE_TIME_FORMATTER.format(utcDateTime);
+            }
+            case ONE_TO_MANY:
+            case MANY_TO_MANY: {
+                List<Integer> ids = ((JsonArray) value).getValuesAs(JsonNumber.class).stream()
+                        .map(JsonNumber::intValueExact)
+                        .collect(Collectors.toList());
+                return List.of(List.of(X2MANY_COMMAND_SET, 0, ids));
+            }
+            default:
+                return ((JsonString) value).getString();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.charlyghislain.odoo.proxy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounds the number of requests served concurrently per route, so that a slow route cannot take all the request
+ * threads.
+ */
+public class RouteConcurrencyLimiter {
+
+    private final Map<ModelRoute, Semaphore> routePermits = new ConcurrentHashMap<>();
+    private final ToIntFunction<ModelRoute> routeLimits;
+    private final Duration acquireTimeout;
+
+    public RouteConcurrencyLimiter(ToIntFunction<ModelRoute> routeLimits, Duration acquireTimeout) {
+        this.routeLimits = routeLimits;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public void run(ModelRoute route, Runnable task) {
+        Semaphore permits = routePermits.computeIfAbsent(route, r -> new Semaphore(routeLimits.applyAsInt(r)));
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OdooProxyError(503, "Interrupted while waiting for " + route);
+        }
+        if (!acquired) {
+            throw new OdooProxyError(503, "Too many concurrent requests for " + route);
+        }
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+}
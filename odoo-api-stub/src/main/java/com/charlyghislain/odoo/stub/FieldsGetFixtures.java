@@ -0,0 +1,202 @@
+package com.charlyghislain.odoo.stub;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic fields_get and ir.model responses, shaped as the xml-rpc client returns them.
+ * <p>
+ * Field types and attributes follow their distribution on a standard odoo database: mostly char, many2one and
+ * boolean fields, a help text on half of them, selections on some. As with the odoo mixins, part of the fields of
+ * each model share their name and attributes with other models.
+ */
+public class FieldsGetFixtures {
+
+    public static final int FIELDS_PER_MODEL = 50;
+
+    private static final String[] FIELD_TYPES;
+    private static final String[] GROUPS = {"base.group_user", "base.group_system", "account.group_account_invoice", "stock.group_stock_user"};
+    private static final String[] GROUP_OPERATORS = {"sum", "avg", "max"};
+    private static final String[] SHARED_FIELD_NAMES = {"name", "active", "sequence", "state", "company_id", "partner_id",
+            "user_id", "currency_id", "date", "note", "description", "color", "code", "amount_total", "product_id",
+            "message_ids", "message_follower_ids", "message_partner_ids", "message_is_follower", "message_needaction",
+            "message_needaction_counter", "message_has_error", "message_has_error_counter", "message_attachment_count",
+            "message_main_attachment_id", "website_message_ids", "has_message", "activity_ids", "activity_state",
+            "activity_user_id", "activity_type_id", "activity_type_icon", "activity_date_deadline",
+            "my_activity_date_deadline", "activity_summary", "activity_exception_decoration", "activity_exception_icon",
+            "create_uid", "write_uid", "__last_update"};
+
+    static {
+        Map<String, Integer> typeWeights = new LinkedHashMap<>();
+        typeWeights.put("char", 25);
+        typeWeights.put("many2one", 15);
+        typeWeights.put("boolean", 12);
+        typeWeights.put("selection", 8);
+        typeWeights.put("integer", 6);
+        typeWeights.put("float", 6);
+        typeWeights.put("text", 5);
+        typeWeights.put("datetime", 5);
+        typeWeights.put("date", 4);
+        typeWeights.put("one2many", 4);
+        typeWeights.put("many2many", 4);
+        typeWeights.put("monetary", 3);
+        typeWeights.put("html", 1);
+        typeWeights.put("binary", 1);
+        typeWeights.put("many2one_reference", 1);
+        List<String> types = new ArrayList<>();
+        typeWeights.forEach((type, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                types.add(type);
+            }
+        });
+        FIELD_TYPES = types.toArray(new String[0]);
+    }
+
+    private final Random random;
+
+    public FieldsGetFixtures(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static int getModelCount(int fieldCount) {
+        return Math.max(1, fieldCount / FIELDS_PER_MODEL);
+    }
+
+    public static String getModelName(int modelIndex) {
+        return "bench.model" + modelIndex;
+    }
+
+    /**
+     * @return the ir.model records, as returned by search_read with the id, name and model fields
+     */
+    public List<Map<Object, Object>> createModels(int modelCount) {
+        List<Map<Object, Object>> models = new ArrayList<>(modelCount);
+        for (int i = 0; i < modelCount; i++) {
+            Map<Object, Object> model = new HashMap<>();
+            model.put("id", i + 1);
+            model.put("name", "Benchmark model " + i);
+            model.put("model", getModelName(i));
+            models.add(model);
+        }
+        return models;
+    }
+
+    /**
+     * @return a fields_get response: field name to attributes map
+     */
+    public Map<Object, Object> createFieldsGet(int modelIndex, int fieldCount) {
+        Map<Object, Object> fields = new HashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            String sharedFieldName = SHARED_FIELD_NAMES[random.nextInt(SHARED_FIELD_NAMES.length)];
+            if (random.nextInt(5) < 2 && !fields.containsKey(sharedFieldName)) {
+                // Same attributes on every model
+                fields.put(sharedFieldName, createFieldAttributes(sharedFieldName, new Random(sharedFieldName.hashCode())));
+            } else {
+                String fieldName = "field_" + modelIndex + "_" + i;
+                fields.put(fieldName, createFieldAttributes(fieldName));
+            }
+        }
+        return fields;
+    }
+
+    public Map<Object, Object> createFieldAttributes(String fieldName) {
+        return createFieldAttributes(fieldName, random);
+    }
+
+    private Map<Object, Object> createFieldAttributes(String fieldName, Random random) {
+        String type = FIELD_TYPES[random.nextInt(FIELD_TYPES.length)];
+        Map<Object, Object> attributes = new HashMap<>();
+        attributes.put("type", type);
+        attributes.put("string", "Label of " + fieldName);
+        attributes.put("name", fieldName);
+        attributes.put("readonly", random.nextInt(4) == 0);
+        attributes.put("required", random.nextInt(8) == 0);
+        attributes.put("store", random.nextInt(5) != 0);
+        attributes.put("searchable", true);
+        attributes.put("sortable", random.nextInt(5) != 0);
+        attributes.put("manual", false);
+        attributes.put("company_dependent", random.nextInt(20) == 0);
+        attributes.put("change_default", false);
+        attributes.put("depends", random.nextInt(4) == 0
+                ? new Object[]{fieldName + "_source", "partner_id." + fieldName}
+                : new Object[0]);
+        attributes.put("exportable", true);
+        if (random.nextBoolean()) {
+            attributes.put("help", "Help text of the field " + fieldName + ", describing its purpose\nand its usage.");
+        }
+        if (random.nextInt(6) == 0) {
+            attributes.put("groups", GROUPS[random.nextInt(GROUPS.length)]);
+        }
+        addTypeAttributes(type, fieldName, attributes, random);
+        return attributes;
+    }
+
+    private static void addTypeAttributes(String type, String fieldName, Map<Object, Object> attributes, Random random) {
+        switch (type) {
+            case "char":
+                attributes.put("translate", random.nextInt(5) == 0);
+                attributes.put("trim", true);
+                if (random.nextInt(4) == 0) {
+                    attributes.put("size", 64);
+                }
+                break;
+            case "text":
+                attributes.put("translate", random.nextInt(3) == 0);
+                break;
+            case "html":
+                attributes.put("translate", true);
+                attributes.put("sanitize", true);
+                attributes.put("sanitize_tags", true);
+                attributes.put("sanitize_attributes", true);
+                attributes.put("sanitize_style", false);
+                attributes.put("strip_style", false);
+                attributes.put("strip_classes", false);
+                break;
+            case "selection": {
+                int valueCount = 2 + random.nextInt(8);
+                Object[] selection = new Object[valueCount];
+                for (int i = 0; i < valueCount; i++) {
+                    selection[i] = new Object[]{"value_" + i, "Value " + i};
+                }
+                attributes.put("selection", selection);
+                break;
+            }
+            case "many2one":
+                attributes.put("relation", "bench.model" + random.nextInt(100));
+                attributes.put("domain", "[]");
+                attributes.put("context", Map.of());
+                break;
+            case "one2many":
+                attributes.put("relation", "bench.model" + random.nextInt(100));
+                attributes.put("relation_field", fieldName + "_inverse_id");
+                attributes.put("domain", new Object[0]);
+                attributes.put("context", Map.of());
+                break;
+            case "many2many":
+                attributes.put("relation", "bench.model" + random.nextInt(100));
+                attributes.put("domain", new Object[0]);
+                attributes.put("context", Map.of());
+                break;
+            case "float":
+                attributes.put("group_operator", GROUP_OPERATORS[random.nextInt(GROUP_OPERATORS.length)]);
+                attributes.put("digits", new Object[]{16, 2});
+                break;
+            case "integer":
+                attributes.put("group_operator", "sum");
+                break;
+            case "monetary":
+                attributes.put("group_operator", "sum");
+                attributes.put("currency_field", "currency_id");
+                break;
+            case "binary":
+                attributes.put("attachment", true);
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.charlyghislain.odoo.stub;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the /jsonrpc endpoint.
+ */
+public class JsonRpcStubHandler {
+
+    public static final String CONTEXT_PATH = "/jsonrpc";
+
+    private final StubOdooService service;
+
+    public JsonRpcStubHandler(StubOdooService service) {
+        this.service = service;
+    }
+
+    public byte[] handle(InputStream requestBody) {
+        JsonObject request;
+        try (JsonReader reader = Json.createReader(requestBody)) {
+            request = reader.readObject();
+        } catch (JsonException | IllegalStateException e) {
+            return writeError(JsonValue.NULL, new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "builtins.ValueError", "Invalid request: " + e.getMessage()));
+        }
+        JsonValue id = request.getOrDefault("id", JsonValue.NULL);
+        try {
+            JsonObject params = request.getJsonObject("params");
+            String serviceName = params.getString("service");
+            String method = params.getString("method");
+            Object[] args = (Object[]) toJava(params.getJsonArray("args"));
+            Object result = service.execute(serviceName, method, args);
+            return writeResult(id, result);
+        } catch (StubFault fault) {
+            return writeError(id, fault);
+        } catch (RuntimeException e) {
+            return writeError(id, new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, e.getClass().getName(), e.toString()));
+        }
+    }
+
+    private byte[] writeResult(JsonValue id, Object result) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = Json.createGenerator(body)) {
+            generator.writeStartObject()
+                    .write("jsonrpc", "2.0")
+                    .write("id", id);
+            generator.writeKey("result");
+            writeValue(generator, result);
+            generator.writeEnd();
+        }
+        return body.toByteArray();
+    }
+
+    private byte[] writeError(JsonValue id, StubFault fault) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = Json.createGenerator(body)) {
+            generator.writeStartObject()
+                    .write("jsonrpc", "2.0")
+                    .write("id", id)
+                    .writeStartObject("error")
+                    .write("code", 200)
+                    .write("message", "Odoo Server Error")
+                    .writeStartObject("data")
+                    .write("name", fault.getExceptionName())
+                    .write("message", String.valueOf(fault.getMessage()))
+                    .writeEnd()
+                    .writeEnd()
+                    .writeEnd();
+        }
+        return body.toByteArray();
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.write((String) value);
+        } else if (value instanceof Boolean) {
+            generator.write((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            generator.write(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            generator.write(((Number) value).doubleValue());
+        } else if (value instanceof Object[]) {
+            generator.writeStartArray();
+            for (Object item : (Object[]) value) {
+                writeValue(generator, item);
+            }
+            generator.writeEnd();
+        } else if (value instanceof List) {
+            generator.writeStartArray();
+            for (Object item : (List<?>) value) {
+                writeValue(generator, item);
+            }
+            generator.writeEnd();
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeKey(String.valueOf(entry.getKey()));
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEnd();
+        } else {
+            generator.write(value.toString());
+        }
+    }
+
+    /**
+     * Converts to the values the xml-rpc parser would produce.
+     */
+    private Object toJava(JsonValue value) {
+        switch (value.getValueType()) {
+            case NULL:
+                return null;
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            case STRING:
+                return ((JsonString) value).getString();
+            case NUMBER: {
+                JsonNumber number = (JsonNumber) value;
+                if (number.isIntegral()) {
+                    long longValue = number.longValue();
+                    return longValue == (int) longValue ? (Object) (int) longValue : (Object) longValue;
+                }
+                return number.doubleValue();
+            }
+            case ARRAY: {
+                JsonArray array = (JsonArray) value;
+                Object[] items = new Object[array.size()];
+                for (int i = 0; i < items.length; i++) {
+                    items[i] = toJava(array.get(i));
+                }
+                return items;
+            }
+            case OBJECT: {
+                Map<String, Object> map = new HashMap<>();
+                ((JsonObject) value).forEach((key, item) -> map.put(key, toJava(item)));
+                return map;
+            }
+            default:
+                throw new IllegalArgumentException("Unexpected json value " + value);
+        }
+    }
+}
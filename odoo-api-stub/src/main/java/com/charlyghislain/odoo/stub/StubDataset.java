@@ -0,0 +1,377 @@
+package com.charlyghislain.odoo.stub;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deterministic synthetic models and records.
+ * <p>
+ * Models are named stub.model0, stub.model1... and listed as ir.model records. Field definitions are generated once
+ * per model, while record values are derived from the model, id and field index on each read, so that the same
+ * record always has the same values whatever the fields requested.
+ */
+public class StubDataset {
+
+    public static final String IR_MODEL = "ir.model";
+    public static final String IR_MODEL_FIELDS = "ir.model.fields";
+    public static final int IR_MODEL_INDEX = -1;
+    public static final int IR_MODEL_FIELDS_INDEX = -2;
+    // Only searched for the attachments of binary fields
+    public static final String IR_ATTACHMENT = "ir.attachment";
+    public static final int IR_ATTACHMENT_INDEX = -3;
+    // Fields added to each model besides the fixtures
+    private static final int MAGIC_FIELD_COUNT = 4;
+    public static final String MODEL_NAME_PREFIX = "stub.model";
+
+    private static final DateTimeFormatter ODOO_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime BASE_DATE_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final StubOdooConfig config;
+    private final Map<Integer, ModelFields> modelFields = new ConcurrentHashMap<>();
+    // Models whose schema was updated, with the odoo datetime of their last update
+    private final Map<Integer, String> schemaWriteDates = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> schemaVersions = new ConcurrentHashMap<>();
+
+    public StubDataset(StubOdooConfig config) {
+        this.config = config;
+    }
+
+    public int getModelCount() {
+        return config.getModelCount();
+    }
+
+    public String getModelName(int modelIndex) {
+        return MODEL_NAME_PREFIX + modelIndex;
+    }
+
+    /**
+     * @return the model index, a negative index for ir.model, ir.model.fields and ir.attachment, or null for an
+     * unknown model
+     */
+    public Integer findModelIndex(String modelName) {
+        if (IR_MODEL.equals(modelName)) {
+            return IR_MODEL_INDEX;
+        }
+        if (IR_MODEL_FIELDS.equals(modelName)) {
+            return IR_MODEL_FIELDS_INDEX;
+        }
+        if (IR_ATTACHMENT.equals(modelName)) {
+            return IR_ATTACHMENT_INDEX;
+        }
+        if (!modelName.startsWith(MODEL_NAME_PREFIX)) {
+            return null;
+        }
+        try {
+            int modelIndex = Integer.parseInt(modelName.substring(MODEL_NAME_PREFIX.length()));
+            return modelIndex >= 0 && modelIndex < config.getModelCount() ? modelIndex : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public int getRecordCount(int modelIndex) {
+        switch (modelIndex) {
+            case IR_MODEL_INDEX:
+                return config.getModelCount();
+            case IR_MODEL_FIELDS_INDEX:
+                return config.getModelCount() * getModelFieldCount();
+            default:
+                return config.getRecordsPerModel();
+        }
+    }
+
+    /**
+     * @return the name of the model described by an ir.model or ir.model.fields record
+     */
+    public String getDescribedModelName(int modelIndex, int id) {
+        return getModelName(getDescribedModelIndex(modelIndex, id));
+    }
+
+    /**
+     * Changes the labels of the fields of a model, and marks its ir.model and ir.model.fields records as written now.
+     */
+    public void updateModelSchema(int modelIndex) {
+        schemaVersions.merge(modelIndex, 1, Integer::sum);
+        schemaWriteDates.put(modelIndex, ODOO_DATE_TIME_FORMATTER.format(LocalDateTime.now(ZoneOffset.UTC)));
+        modelFields.remove(modelIndex);
+    }
+
+    public Map<Object, Object> getFieldsGet(int modelIndex) {
+        return getModelFields(modelIndex).fieldsGet;
+    }
+
+    public String getWriteDate(int modelIndex, int id) {
+        if (modelIndex == IR_MODEL_FIELDS_INDEX) {
+            return schemaWriteDates.getOrDefault(getDescribedModelIndex(modelIndex, id), ODOO_DATE_TIME_FORMATTER.format(BASE_DATE_TIME));
+        }
+        if (modelIndex == IR_MODEL_INDEX && schemaWriteDates.containsKey(id - 1)) {
+            return schemaWriteDates.get(id - 1);
+        }
+        long createSeconds = id * 60L;
+        long updateSeconds = Math.floorMod(mix(modelIndex, id, -1), 30 * 24 * 3600L);
+        return ODOO_DATE_TIME_FORMATTER.format(BASE_DATE_TIME.plusSeconds(createSeconds + updateSeconds));
+    }
+
+    /**
+     * @param fields the field names to include, all when empty
+     */
+    public Map<Object, Object> createRecord(int modelIndex, int id, List<String> fields) {
+        ModelFields model = getModelFields(modelIndex);
+        Map<Object, Object> record = new HashMap<>();
+        record.put("id", id);
+        if (fields.isEmpty()) {
+            for (int i = 0; i < model.fieldNames.length; i++) {
+                record.put(model.fieldNames[i], createValue(modelIndex, id, model, i));
+            }
+        } else {
+            for (String field : fields) {
+                Integer fieldIndex = model.fieldIndexes.get(field);
+                if (fieldIndex != null) {
+                    record.put(field, createValue(modelIndex, id, model, fieldIndex));
+                }
+            }
+        }
+        return record;
+    }
+
+    /**
+     * @return the ir.attachment record holding the value of a binary field, or null when it is not set
+     */
+    public Map<Object, Object> createFieldAttachment(int modelIndex, int id, String fieldName) {
+        if (modelIndex < 0 || id < 1 || id > getRecordCount(modelIndex)) {
+            return null;
+        }
+        ModelFields model = getModelFields(modelIndex);
+        Integer fieldIndex = model.fieldIndexes.get(fieldName);
+        if (fieldIndex == null || !"binary".equals(model.fieldTypes[fieldIndex])) {
+            return null;
+        }
+        Object value = createValue(modelIndex, id, model, fieldIndex);
+        if (!(value instanceof String)) {
+            return null;
+        }
+        byte[] content = Base64.getDecoder().decode((String) value);
+        Map<Object, Object> attachment = new HashMap<>();
+        attachment.put("id", 1 + (int) Math.floorMod(mix(modelIndex, id, fieldIndex), (long) Integer.MAX_VALUE - 1));
+        attachment.put("file_size", content.length);
+        attachment.put("checksum", sha1Hex(content));
+        attachment.put("mimetype", "application/octet-stream");
+        return attachment;
+    }
+
+    private Object createValue(int modelIndex, int id, ModelFields model, int fieldIndex) {
+        String fieldName = model.fieldNames[fieldIndex];
+        long hash = mix(modelIndex, id, fieldIndex);
+        if (modelIndex == IR_MODEL_INDEX) {
+            return createModelValue(id, fieldName);
+        } else if (modelIndex == IR_MODEL_FIELDS_INDEX) {
+            return createModelFieldValue(id, fieldName);
+        }
+        switch (fieldName) {
+            case "id":
+                return id;
+            case "display_name":
+                return getModelName(modelIndex) + " #" + id;
+            case "create_date":
+                return ODOO_DATE_TIME_FORMATTER.format(BASE_DATE_TIME.plusSeconds(id * 60L));
+            case "write_date":
+                return getWriteDate(modelIndex, id);
+        }
+        // Unset optional values are returned as false by odoo
+        if (Math.floorMod(hash, 10) == 0 && !"boolean".equals(model.fieldTypes[fieldIndex])) {
+            return false;
+        }
+        long value = hash >>> 8;
+        switch (model.fieldTypes[fieldIndex]) {
+            case "boolean":
+                return (value & 1) == 0;
+            case "integer":
+            case "many2one_reference":
+                return (int) (value % 100000);
+            case "float":
+            case "monetary":
+                return (value % 10000000) / 100d;
+            case "date":
+                return BASE_DATE_TIME.toLocalDate().plusDays(value % 2000).toString();
+            case "datetime":
+                return ODOO_DATE_TIME_FORMATTER.format(BASE_DATE_TIME.plusSeconds(value % 100_000_000L));
+            case "selection":
+                return "value_" + (value % model.selectionSizes[fieldIndex]);
+            case "many2one": {
+                int relatedId = 1 + (int) (value % config.getRecordsPerModel());
+                return new Object[]{relatedId, "Record #" + relatedId};
+            }
+            case "one2many":
+            case "many2many": {
+                Object[] relatedIds = new Object[(int) (value % 6)];
+                for (int i = 0; i < relatedIds.length; i++) {
+                    relatedIds[i] = 1 + (int) ((value >>> (i * 8)) % config.getRecordsPerModel());
+                }
+                return relatedIds;
+            }
+            case "binary": {
+                byte[] content = new byte[64 + (int) (value % config.getBinaryFieldSize())];
+                for (int i = 0; i < content.length; i++) {
+                    content[i] = (byte) (value >>> (i % 8 * 8));
+                }
+                return Base64.getEncoder().encodeToString(content);
+            }
+            case "html":
+                return "<p>Content " + value + " of " + fieldName + "</p>";
+            case "text":
+                return "Text " + value + " of " + fieldName + "\nwith several lines\nof content";
+            default:
+                return "Value " + (value % 100000);
+        }
+    }
+
+    private Object createModelValue(int id, String fieldName) {
+        int modelIndex = id - 1;
+        switch (fieldName) {
+            case "id":
+                return id;
+            case "name":
+                return "Stub model " + modelIndex;
+            case "model":
+                return getModelName(modelIndex);
+            case "state":
+                return "base";
+            case "write_date":
+                return getWriteDate(IR_MODEL_INDEX, id);
+            default:
+                return false;
+        }
+    }
+
+    private Object createModelFieldValue(int id, String fieldName) {
+        int modelIndex = getDescribedModelIndex(IR_MODEL_FIELDS_INDEX, id);
+        ModelFields model = getModelFields(modelIndex);
+        int fieldIndex = (id - 1) % getModelFieldCount();
+        switch (fieldName) {
+            case "id":
+                return id;
+            case "name":
+                return model.fieldNames[fieldIndex];
+            case "model":
+                return getModelName(modelIndex);
+            case "ttype":
+                return model.fieldTypes[fieldIndex];
+            case "write_date":
+                return getWriteDate(IR_MODEL_FIELDS_INDEX, id);
+            default:
+                return false;
+        }
+    }
+
+    private int getDescribedModelIndex(int modelIndex, int id) {
+        return modelIndex == IR_MODEL_FIELDS_INDEX ? (id - 1) / getModelFieldCount() : id - 1;
+    }
+
+    private int getModelFieldCount() {
+        return config.getFieldsPerModel() + MAGIC_FIELD_COUNT;
+    }
+
+    private ModelFields getModelFields(int modelIndex) {
+        return modelFields.computeIfAbsent(modelIndex, this::createModelFields);
+    }
+
+    private ModelFields createModelFields(int modelIndex) {
+        Map<Object, Object> fieldsGet = new LinkedHashMap<>();
+        if (modelIndex == IR_MODEL_INDEX) {
+            fieldsGet.put("name", createMagicField("name", "char", "Model Description"));
+            fieldsGet.put("model", createMagicField("model", "char", "Model"));
+            fieldsGet.put("state", createMagicField("state", "char", "Type"));
+        } else if (modelIndex == IR_MODEL_FIELDS_INDEX) {
+            fieldsGet.put("name", createMagicField("name", "char", "Field Name"));
+            fieldsGet.put("model", createMagicField("model", "char", "Model Name"));
+            fieldsGet.put("ttype", createMagicField("ttype", "char", "Field Type"));
+        } else {
+            FieldsGetFixtures fixtures = new FieldsGetFixtures(config.getSeed() + modelIndex);
+            fieldsGet.putAll(fixtures.createFieldsGet(modelIndex, config.getFieldsPerModel()));
+            fieldsGet.put("display_name", createMagicField("display_name", "char", "Display Name"));
+            fieldsGet.put("create_date", createMagicField("create_date", "datetime", "Created on"));
+        }
+        fieldsGet.put("id", createMagicField("id", "integer", "ID"));
+        fieldsGet.put("write_date", createMagicField("write_date", "datetime", "Last Updated on"));
+        int schemaVersion = schemaVersions.getOrDefault(modelIndex, 0);
+        if (schemaVersion > 0) {
+            fieldsGet.replaceAll((name, attributes) -> {
+                Map<Object, Object> versionedAttributes = new LinkedHashMap<>((Map<?, ?>) attributes);
+                versionedAttributes.compute("string", (key, label) -> label + " (v" + schemaVersion + ")");
+                return versionedAttributes;
+            });
+        }
+        return new ModelFields(fieldsGet);
+    }
+
+    private static Map<Object, Object> createMagicField(String name, String type, String label) {
+        Map<Object, Object> attributes = new HashMap<>();
+        attributes.put("type", type);
+        attributes.put("string", label);
+        attributes.put("name", name);
+        attributes.put("readonly", true);
+        attributes.put("required", false);
+        attributes.put("store", true);
+        attributes.put("searchable", true);
+        attributes.put("sortable", true);
+        attributes.put("manual", false);
+        return attributes;
+    }
+
+    private static String sha1Hex(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte digestByte : digest) {
+                hex.append(Character.forDigit((digestByte >> 4) & 0xF, 16))
+                        .append(Character.forDigit(digestByte & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long mix(int modelIndex, int id, int fieldIndex) {
+        // splitmix64 finalizer
+        long z = config.getSeed() + modelIndex * GOLDEN_RATIO + ((long) id << 20) + fieldIndex;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static class ModelFields {
+        private final Map<Object, Object> fieldsGet;
+        private final String[] fieldNames;
+        private final String[] fieldTypes;
+        private final int[] selectionSizes;
+        private final Map<String, Integer> fieldIndexes = new HashMap<>();
+
+        ModelFields(Map<Object, Object> fieldsGet) {
+            this.fieldsGet = fieldsGet;
+            this.fieldNames = new String[fieldsGet.size()];
+            this.fieldTypes = new String[fieldsGet.size()];
+            this.selectionSizes = new int[fieldsGet.size()];
+            int index = 0;
+            for (Map.Entry<Object, Object> entry : fieldsGet.entrySet()) {
+                Map<?, ?> attributes = (Map<?, ?>) entry.getValue();
+                fieldNames[index] = (String) entry.getKey();
+                fieldTypes[index] = (String) attributes.get("type");
+                Object selection = attributes.get("selection");
+                selectionSizes[index] = selection instanceof Object[] ? ((Object[]) selection).length : 1;
+                fieldIndexes.put(fieldNames[index], index);
+                index++;
+            }
+        }
+    }
+}
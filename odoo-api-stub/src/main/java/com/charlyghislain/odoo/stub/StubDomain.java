@@ -0,0 +1,153 @@
+package com.charlyghislain.odoo.stub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Search domain restricted to what the stub can evaluate without storing records: conjunctions of conditions on id,
+ * write_date, and on the model name of ir.model and ir.model.fields records. Conditions on other fields are ignored and match all records.
+ */
+public class StubDomain {
+
+    private final StubDataset dataset;
+    private final int modelIndex;
+    private final List<Object[]> conditions = new ArrayList<>();
+    private int minId = 1;
+    private int maxId;
+
+    public StubDomain(StubDataset dataset, int modelIndex, Object[] domain) {
+        this.dataset = dataset;
+        this.modelIndex = modelIndex;
+        this.maxId = dataset.getRecordCount(modelIndex);
+        for (Object term : domain) {
+            if ("&".equals(term)) {
+                continue;
+            }
+            if (!(term instanceof Object[]) || ((Object[]) term).length != 3) {
+                throw new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "builtins.ValueError", "Unsupported domain term " + describe(term));
+            }
+            Object[] condition = (Object[]) term;
+            conditions.add(condition);
+            if ("id".equals(condition[0]) && condition[2] instanceof Integer) {
+                restrictIdRange((String) condition[1], (Integer) condition[2]);
+            }
+        }
+    }
+
+    /**
+     * @param descending order, otherwise ascending by id
+     */
+    public List<Integer> search(int offset, int limit, boolean descending) {
+        List<Integer> ids = new ArrayList<>();
+        int skipped = 0;
+        int step = descending ? -1 : 1;
+        for (int id = descending ? maxId : minId; id >= minId && id <= maxId; id += step) {
+            if (!matches(id)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            ids.add(id);
+            if (limit > 0 && ids.size() >= limit) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private void restrictIdRange(String operator, int value) {
+        switch (operator) {
+            case "=":
+                minId = Math.max(minId, value);
+                maxId = Math.min(maxId, value);
+                break;
+            case ">":
+                minId = Math.max(minId, value + 1);
+                break;
+            case ">=":
+                minId = Math.max(minId, value);
+                break;
+            case "<":
+                maxId = Math.min(maxId, value - 1);
+                break;
+            case "<=":
+                maxId = Math.min(maxId, value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private boolean matches(int id) {
+        for (Object[] condition : conditions) {
+            String field = (String) condition[0];
+            String operator = (String) condition[1];
+            Object value = condition[2];
+            switch (field) {
+                case "id":
+                    if (!matchesComparable(id, Integer.class, operator, value)) {
+                        return false;
+                    }
+                    break;
+                case "write_date":
+                    if (!matchesComparable(dataset.getWriteDate(modelIndex, id), String.class, operator, value)) {
+                        return false;
+                    }
+                    break;
+                case "model":
+                    if (modelIndex < 0 && !matchesComparable(dataset.getDescribedModelName(modelIndex, id), String.class, operator, value)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static <T extends Comparable<T>> boolean matchesComparable(T recordValue, Class<T> valueType, String operator, Object value) {
+        switch (operator) {
+            case "in":
+                return asSet(value).contains(recordValue);
+            case "not in":
+                return !asSet(value).contains(recordValue);
+        }
+        if (!valueType.isInstance(value)) {
+            return true;
+        }
+        int comparison = recordValue.compareTo(valueType.cast(value));
+        switch (operator) {
+            case "=":
+                return comparison == 0;
+            case "!=":
+                return comparison != 0;
+            case ">":
+                return comparison > 0;
+            case ">=":
+                return comparison >= 0;
+            case "<":
+                return comparison < 0;
+            case "<=":
+                return comparison <= 0;
+            default:
+                return true;
+        }
+    }
+
+    private static Set<Object> asSet(Object value) {
+        if (value instanceof Object[]) {
+            return Arrays.stream((Object[]) value).collect(Collectors.toSet());
+        }
+        return Set.of(value);
+    }
+
+    private static String describe(Object term) {
+        return term instanceof Object[] ? Arrays.deepToString((Object[]) term) : String.valueOf(term);
+    }
+}
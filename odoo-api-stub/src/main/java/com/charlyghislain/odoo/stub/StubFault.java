@@ -0,0 +1,31 @@
+package com.charlyghislain.odoo.stub;
+
+import lombok.Getter;
+
+/**
+ * Server fault, returned as an xml-rpc fault or a json-rpc error.
+ */
+@Getter
+public class StubFault extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    // Fault codes used by odoo over xml-rpc
+    public static final int FAULT_CODE_SERVER_ERROR = 1;
+    public static final int FAULT_CODE_WARNING = 2;
+    public static final int FAULT_CODE_ACCESS_DENIED = 3;
+
+    private final int faultCode;
+    // Qualified name of the odoo exception, reported by json-rpc errors
+    private final String exceptionName;
+
+    public StubFault(int faultCode, String message) {
+        this(faultCode, "odoo.exceptions.UserError", message);
+    }
+
+    public StubFault(int faultCode, String exceptionName, String message) {
+        super(message);
+        this.faultCode = faultCode;
+        this.exceptionName = exceptionName;
+    }
+}
@@ -0,0 +1,34 @@
+package com.charlyghislain.odoo.stub;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+public class StubOdooConfig {
+
+    // 0 picks a free port
+    private int port = 8069;
+    private int backlog = 1024;
+    private int maxThreads = 256;
+
+    // Synthetic dataset. Records are computed on demand, so millions of them cost no memory
+    private int modelCount = 100;
+    private int recordsPerModel = 10000;
+    private int fieldsPerModel = FieldsGetFixtures.FIELDS_PER_MODEL;
+    private long seed = 42;
+    // Binary field values are 64 to 64 + binaryFieldSize bytes long before base64 encoding
+    private int binaryFieldSize = 1024;
+
+    // Injected on every execute_kw call, the per-record latency being added for each record returned
+    private Duration latency = Duration.ZERO;
+    private Duration latencyPerRecord = Duration.ZERO;
+    // Ratio of execute_kw calls failing with a server fault
+    private double faultRate = 0;
+
+    // Compress responses for clients accepting gzip
+    private boolean gzipResponses = true;
+
+}
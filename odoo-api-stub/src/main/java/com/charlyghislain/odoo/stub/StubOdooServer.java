@@ -0,0 +1,163 @@
+package com.charlyghislain.odoo.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stand-in for an odoo server, serving the xml-rpc and json-rpc apis over a synthetic dataset.
+ * <p>
+ * Meant for load tests: latency and faults can be injected, and call counts and transferred bytes are recorded.
+ */
+public class StubOdooServer implements AutoCloseable {
+
+    private final StubOdooConfig config;
+    @Getter
+    private final StubOdooService service;
+    private final XmlRpcStubHandler xmlRpcHandler;
+    private final JsonRpcStubHandler jsonRpcHandler;
+    // Bytes as sent on the wire, compressed or not
+    @Getter
+    private final LongAdder bytesReceived = new LongAdder();
+    @Getter
+    private final LongAdder bytesSent = new LongAdder();
+    private HttpServer httpServer;
+    private ExecutorService requestExecutor;
+
+    public StubOdooServer(StubOdooConfig config) {
+        this.config = config;
+        this.service = new StubOdooService(config, new StubDataset(config));
+        this.xmlRpcHandler = new XmlRpcStubHandler(service);
+        this.jsonRpcHandler = new JsonRpcStubHandler(service);
+    }
+
+    public void start() throws IOException {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.requestExecutor = Executors.newFixedThreadPool(config.getMaxThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "odoo-stub-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpServer = HttpServer.create(new InetSocketAddress(config.getPort()), config.getBacklog());
+        this.httpServer.createContext(XmlRpcStubHandler.CONTEXT_PATH, exchange -> handle(exchange, "text/xml",
+                body -> xmlRpcHandler.handle(exchange.getRequestURI().getPath(), body)));
+        this.httpServer.createContext(JsonRpcStubHandler.CONTEXT_PATH, exchange -> handle(exchange, "application/json",
+                jsonRpcHandler::handle));
+        this.httpServer.setExecutor(requestExecutor);
+        this.httpServer.start();
+        System.out.println("Odoo stub listening on port " + getPort() + " with " + config.getModelCount() + " models of "
+                + config.getRecordsPerModel() + " records");
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    @Override
+    public void close() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        if (requestExecutor != null) {
+            requestExecutor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange, String contentType, RequestHandler requestHandler) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] requestBytes = exchange.getRequestBody().readAllBytes();
+            bytesReceived.add(requestBytes.length);
+            InputStream requestBody = new ByteArrayInputStream(requestBytes);
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                requestBody = new GZIPInputStream(requestBody);
+            }
+            byte[] responseBody = requestHandler.handle(requestBody);
+
+            String acceptEncoding = Optional.ofNullable(exchange.getRequestHeaders().getFirst("Accept-Encoding")).orElse("");
+            if (config.isGzipResponses() && acceptEncoding.contains("gzip")) {
+                ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody)) {
+                    gzipOutputStream.write(responseBody);
+                }
+                responseBody = compressedBody.toByteArray();
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, responseBody.length);
+            try (OutputStream responseStream = exchange.getResponseBody()) {
+                responseStream.write(responseBody);
+            }
+            bytesSent.add(responseBody.length);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Unable to serve " + exchange.getRequestURI() + ": " + e);
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    public static StubOdooConfig createConfigFromSystemProperties() {
+        StubOdooConfig config = new StubOdooConfig();
+        Optional.ofNullable(System.getProperty("stub.port"))
+                .map(Integer::parseInt)
+                .ifPresent(config::setPort);
+        Optional.ofNullable(System.getProperty("stub.models"))
+                .map(Integer::parseInt)
+                .ifPresent(config::setModelCount);
+        Optional.ofNullable(System.getProperty("stub.recordsPerModel"))
+                .map(Integer::parseInt)
+                .ifPresent(config::setRecordsPerModel);
+        Optional.ofNullable(System.getProperty("stub.fieldsPerModel"))
+                .map(Integer::parseInt)
+                .ifPresent(config::setFieldsPerModel);
+        Optional.ofNullable(System.getProperty("stub.binaryFieldBytes"))
+                .map(Integer::parseInt)
+                .ifPresent(config::setBinaryFieldSize);
+        Optional.ofNullable(System.getProperty("stub.latencyMillis"))
+                .map(Long::parseLong)
+                .map(Duration::ofMillis)
+                .ifPresent(config::setLatency);
+        Optional.ofNullable(System.getProperty("stub.latencyPerRecordMicros"))
+                .map(Long::parseLong)
+                .map(micros -> Duration.ofNanos(micros * 1000))
+                .ifPresent(config::setLatencyPerRecord);
+        Optional.ofNullable(System.getProperty("stub.faultRate"))
+                .map(Double::parseDouble)
+                .ifPresent(config::setFaultRate);
+        return config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubOdooServer stubServer = new StubOdooServer(createConfigFromSystemProperties());
+        Runtime.getRuntime().addShutdownHook(new Thread(stubServer::close));
+        stubServer.start();
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+        byte[] handle(InputStream requestBody) throws IOException;
+    }
+}
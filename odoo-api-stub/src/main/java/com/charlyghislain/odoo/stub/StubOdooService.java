@@ -0,0 +1,223 @@
+package com.charlyghislain.odoo.stub;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * The odoo common and object services, answering from the synthetic dataset.
+ * <p>
+ * Values are passed as the xml-rpc parser produces them: arrays as Object[], structs as maps.
+ */
+public class StubOdooService {
+
+    public static final int STUB_USER_ID = 2;
+
+    private final StubOdooConfig config;
+    @Getter
+    private final StubDataset dataset;
+    private final Map<String, LongAdder> callCounts = new ConcurrentHashMap<>();
+    // Created records are not stored, but get new ids
+    private final AtomicInteger createdRecordCount = new AtomicInteger();
+    // Called with the method of each execute_kw call on its request thread, before it is answered. Lets tests hold calls
+    @Setter
+    private volatile Consumer<String> callListener;
+
+    public StubOdooService(StubOdooConfig config, StubDataset dataset) {
+        this.config = config;
+        this.dataset = dataset;
+    }
+
+    /**
+     * @return the number of calls of a common method, or of an execute_kw method
+     */
+    public long getCallCount(String method) {
+        LongAdder callCount = callCounts.get(method);
+        return callCount == null ? 0 : callCount.sum();
+    }
+
+    public Map<String, Long> getCallCounts() {
+        return callCounts.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+    }
+
+    public void resetCallCounts() {
+        callCounts.clear();
+    }
+
+    public Object execute(String service, String method, Object[] params) {
+        switch (service) {
+            case "common":
+                countCall(method);
+                if ("authenticate".equals(method)) {
+                    return STUB_USER_ID;
+                } else if ("version".equals(method)) {
+                    return Map.of("server_version", "15.0", "protocol_version", 1);
+                }
+                break;
+            case "object":
+                if ("execute_kw".equals(method)) {
+                    return executeKw(params);
+                }
+                break;
+        }
+        throw new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "builtins.NameError",
+                "Method not available " + service + "." + method);
+    }
+
+    private Object executeKw(Object[] params) {
+        if (params.length < 6) {
+            throw new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "builtins.TypeError", "execute_kw() missing arguments");
+        }
+        String modelName = (String) params[3];
+        String method = (String) params[4];
+        Object[] args = (Object[]) params[5];
+        Map<?, ?> kwargs = params.length > 6 ? (Map<?, ?>) params[6] : Map.of();
+        countCall(method);
+        Consumer<String> currentCallListener = this.callListener;
+        if (currentCallListener != null) {
+            currentCallListener.accept(method);
+        }
+
+        injectFault();
+        Integer modelIndex = dataset.findModelIndex(modelName);
+        if (modelIndex == null) {
+            throw new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "builtins.KeyError", modelName);
+        }
+        Object response = executeModelMethod(modelIndex, modelName, method, args, kwargs);
+        injectLatency(response instanceof Object[] ? ((Object[]) response).length : 1);
+        return response;
+    }
+
+    private Object executeModelMethod(int modelIndex, String modelName, String method, Object[] args, Map<?, ?> kwargs) {
+        if (modelIndex == StubDataset.IR_ATTACHMENT_INDEX) {
+            return executeAttachmentMethod(method, args);
+        }
+        switch (method) {
+            case "fields_get":
+                return dataset.getFieldsGet(modelIndex);
+            case "search": {
+                StubDomain domain = new StubDomain(dataset, modelIndex, (Object[]) args[0]);
+                return search(domain, kwargs).toArray();
+            }
+            case "search_count": {
+                StubDomain domain = new StubDomain(dataset, modelIndex, (Object[]) args[0]);
+                return domain.search(0, 0, false).size();
+            }
+            case "search_read": {
+                StubDomain domain = new StubDomain(dataset, modelIndex, args.length > 0 ? (Object[]) args[0] : new Object[0]);
+                List<String> fields = getFields(kwargs);
+                return search(domain, kwargs).stream()
+                        .map(id -> dataset.createRecord(modelIndex, id, fields))
+                        .toArray();
+            }
+            case "read": {
+                List<Integer> ids = getIds(args[0]);
+                List<String> fields = getFields(kwargs);
+                int recordCount = dataset.getRecordCount(modelIndex);
+                for (int id : ids) {
+                    if (id < 1 || id > recordCount) {
+                        throw new StubFault(StubFault.FAULT_CODE_WARNING, "odoo.exceptions.MissingError",
+                                "Record does not exist or has been deleted.\n(Record: " + modelName + "(" + id + ",), User: " + STUB_USER_ID + ")");
+                    }
+                }
+                return ids.stream()
+                        .map(id -> dataset.createRecord(modelIndex, id, fields))
+                        .toArray();
+            }
+            case "create":
+                return dataset.getRecordCount(modelIndex) + createdRecordCount.incrementAndGet();
+            case "write":
+            case "unlink":
+                return true;
+            default:
+                throw new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "builtins.AttributeError",
+                        "The method '" + method + "' does not exist on the model '" + modelName + "'");
+        }
+    }
+
+    /**
+     * Answers the search_read of the attachment of a binary field: [res_model, =, model], [res_field, =, field] and
+     * [res_id, =, id] conditions.
+     */
+    private Object executeAttachmentMethod(String method, Object[] args) {
+        if (!"search_read".equals(method)) {
+            throw new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "builtins.AttributeError",
+                    "The method '" + method + "' is not available on the model '" + StubDataset.IR_ATTACHMENT + "' of the stub");
+        }
+        Map<Object, Object> conditionValues = new HashMap<>();
+        for (Object term : args.length > 0 ? (Object[]) args[0] : new Object[0]) {
+            if (term instanceof Object[] && ((Object[]) term).length == 3 && "=".equals(((Object[]) term)[1])) {
+                conditionValues.put(((Object[]) term)[0], ((Object[]) term)[2]);
+            }
+        }
+        Object resModel = conditionValues.get("res_model");
+        Object resField = conditionValues.get("res_field");
+        Object resId = conditionValues.get("res_id");
+        Integer modelIndex = resModel instanceof String ? dataset.findModelIndex((String) resModel) : null;
+        if (modelIndex == null || !(resField instanceof String) || !(resId instanceof Integer)) {
+            return new Object[0];
+        }
+        Map<Object, Object> attachment = dataset.createFieldAttachment(modelIndex, (Integer) resId, (String) resField);
+        return attachment == null ? new Object[0] : new Object[]{attachment};
+    }
+
+    private List<Integer> search(StubDomain domain, Map<?, ?> kwargs) {
+        int offset = kwargs.get("offset") instanceof Integer ? (Integer) kwargs.get("offset") : 0;
+        int limit = kwargs.get("limit") instanceof Integer ? (Integer) kwargs.get("limit") : 0;
+        Object order = kwargs.get("order");
+        boolean descending = order instanceof String && ((String) order).trim().toLowerCase().endsWith("desc");
+        return domain.search(offset, limit, descending);
+    }
+
+    private List<String> getFields(Map<?, ?> kwargs) {
+        Object fields = kwargs.get("fields");
+        if (!(fields instanceof Object[])) {
+            return List.of();
+        }
+        return Arrays.stream((Object[]) fields)
+                .map(String.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    private List<Integer> getIds(Object idsArg) {
+        if (idsArg instanceof Integer) {
+            return List.of((Integer) idsArg);
+        }
+        return Arrays.stream((Object[]) idsArg)
+                .map(Integer.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    private void countCall(String method) {
+        callCounts.computeIfAbsent(method, m -> new LongAdder()).increment();
+    }
+
+    private void injectFault() {
+        if (config.getFaultRate() > 0 && ThreadLocalRandom.current().nextDouble() < config.getFaultRate()) {
+            throw new StubFault(StubFault.FAULT_CODE_SERVER_ERROR, "stub.InjectedFault", "Injected fault");
+        }
+    }
+
+    private void injectLatency(int recordCount) {
+        long latencyNanos = config.getLatency().toNanos() + config.getLatencyPerRecord().toNanos() * recordCount;
+        if (latencyNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyNanos / 1_000_000, (int) (latencyNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.charlyghislain.odoo.stub;
+
+import org.apache.ws.commons.serialize.XMLWriterImpl;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.common.TypeFactory;
+import org.apache.xmlrpc.common.XmlRpcHttpRequestConfigImpl;
+import org.apache.xmlrpc.parser.XmlRpcRequestParser;
+import org.apache.xmlrpc.serializer.XmlRpcWriter;
+import org.apache.xmlrpc.util.SAXParsers;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the /xmlrpc/2/{service} endpoints.
+ */
+public class XmlRpcStubHandler {
+
+    public static final String CONTEXT_PATH = "/xmlrpc/2/";
+
+    private final StubOdooService service;
+    private final XmlRpcHttpRequestConfigImpl streamConfig;
+    private final TypeFactory typeFactory;
+
+    public XmlRpcStubHandler(StubOdooService service) {
+        this.service = service;
+        this.streamConfig = new XmlRpcHttpRequestConfigImpl();
+        this.streamConfig.setEncoding(StandardCharsets.UTF_8.name());
+        this.typeFactory = new XmlRpcClient().getTypeFactory();
+    }
+
+    public byte[] handle(String path, InputStream requestBody) throws IOException {
+        String serviceName = path.substring(CONTEXT_PATH.length());
+        XmlRpcRequestParser requestParser = new XmlRpcRequestParser(streamConfig, typeFactory);
+        try {
+            XMLReader xmlReader = SAXParsers.newXMLReader();
+            xmlReader.setContentHandler(requestParser);
+            xmlReader.parse(new InputSource(requestBody));
+        } catch (SAXException | XmlRpcException e) {
+            return writeFault(StubFault.FAULT_CODE_SERVER_ERROR, "Invalid request: " + e.getMessage());
+        }
+
+        try {
+            Object[] params = requestParser.getParams() == null ? new Object[0] : requestParser.getParams().toArray();
+            Object response = service.execute(serviceName, requestParser.getMethodName(), params);
+            return writeResponse(response);
+        } catch (StubFault fault) {
+            return writeFault(fault.getFaultCode(), fault.getMessage());
+        } catch (RuntimeException e) {
+            return writeFault(StubFault.FAULT_CODE_SERVER_ERROR, e.toString());
+        }
+    }
+
+    private byte[] writeResponse(Object response) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+            createXmlRpcWriter(writer).write(streamConfig, response);
+        } catch (SAXException e) {
+            throw new IOException("Unable to write response", e);
+        }
+        return body.toByteArray();
+    }
+
+    private byte[] writeFault(int faultCode, String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+            createXmlRpcWriter(writer).write(streamConfig, faultCode, message);
+        } catch (SAXException e) {
+            throw new IOException("Unable to write fault", e);
+        }
+        return body.toByteArray();
+    }
+
+    private XmlRpcWriter createXmlRpcWriter(Writer writer) {
+        XMLWriterImpl xmlWriter = new XMLWriterImpl();
+        xmlWriter.setEncoding(StandardCharsets.UTF_8.name());
+        xmlWriter.setDeclarating(true);
+        xmlWriter.setIndenting(false);
+        xmlWriter.setFlushing(false);
+        xmlWriter.setWriter(writer);
+        return new XmlRpcWriter(streamConfig, xmlWriter, typeFactory);
+    }
+}
@@ -0,0 +1,199 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import com.charlyghislain.odoo.proxy.OdooProxyConfig;
+import com.charlyghislain.odoo.proxy.OdooProxyServer;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Downloads a large binary field through the proxy, as a json record and with the binary field endpoint, and compares
+ * the bytes allocated by the proxy and client threads. Checks the content against the attachment checksum, a range
+ * and a conditional request, exiting with status 1 on failure.
+ * <p>
+ * System properties: driver.binaryMegabytes (50), the stub.* properties and the proxy.* properties of the proxy server.
+ */
+public class BinaryStreamingDriver {
+
+    private static final int CANDIDATE_RECORD_COUNT = 20;
+
+    public static void main(String[] args) throws Exception {
+        int binaryMegabytes = DriverSupport.getIntProperty("driver.binaryMegabytes", 50);
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setBinaryFieldSize(binaryMegabytes * 1024 * 1024);
+
+        boolean success;
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            OdooProxyConfig proxyConfig = OdooProxyServer.createConfigFromSystemProperties();
+            proxyConfig.setPort(0);
+            proxyConfig.setRecordCacheSize(0);
+            OdooClientConfig clientConfig = DriverSupport.createClientConfig(stubServer);
+            try (OdooClient odooClient = new OdooClient(clientConfig);
+                 OdooProxyServer proxyServer = new OdooProxyServer(odooClient, proxyConfig)) {
+                proxyServer.start();
+                success = runDownloads(stubServer, odooClient, "http://localhost:" + proxyServer.getPort());
+            }
+        }
+        if (!success) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean runDownloads(StubOdooServer stubServer, OdooClient odooClient, String proxyUrl)
+            throws IOException, InterruptedException {
+        StubDataset dataset = stubServer.getService().getDataset();
+        String modelName = null;
+        String fieldName = null;
+        for (int modelIndex = 0; modelIndex < dataset.getModelCount() && fieldName == null; modelIndex++) {
+            modelName = dataset.getModelName(modelIndex);
+            fieldName = odooClient.getModelClient(modelName).getFields().entrySet().stream()
+                    .filter(e -> e.getValue().getType() == OdooFieldType.BINARY && e.getValue().isAttachment())
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse(null);
+        }
+        if (fieldName == null) {
+            System.err.println("No model with a binary field");
+            return false;
+        }
+        // The largest value of a few records
+        int modelIndex = dataset.findModelIndex(modelName);
+        int recordId = 0;
+        Map<Object, Object> attachment = null;
+        for (int id = 1; id <= CANDIDATE_RECORD_COUNT; id++) {
+            Map<Object, Object> candidateAttachment = dataset.createFieldAttachment(modelIndex, id, fieldName);
+            if (candidateAttachment != null && (attachment == null
+                    || (Integer) candidateAttachment.get("file_size") > (Integer) attachment.get("file_size"))) {
+                attachment = candidateAttachment;
+                recordId = id;
+            }
+        }
+        int fileSize = (Integer) attachment.get("file_size");
+        String checksum = (String) attachment.get("checksum");
+        System.out.println(String.format("Downloading %s of %s %d: %.1f MB", fieldName, modelName, recordId, fileSize / 1048576d));
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        String recordUrl = proxyUrl + "/model/" + modelName + "/" + recordId;
+        String binaryUrl = recordUrl + "/" + fieldName;
+        // Warm up both paths
+        download(httpClient, HttpRequest.newBuilder(URI.create(binaryUrl + "?warmup")).build(), "Warm up");
+        download(httpClient, HttpRequest.newBuilder(URI.create(recordUrl + "?fields=" + fieldName)).build(), "Warm up");
+
+        download(httpClient, HttpRequest.newBuilder(URI.create(recordUrl + "?fields=" + fieldName)).build(), "Json record");
+        Download fullDownload = download(httpClient, HttpRequest.newBuilder(URI.create(binaryUrl)).build(), "Binary endpoint");
+        int rangeLength = Math.min(1024 * 1024, fileSize);
+        Download rangeDownload = download(httpClient, HttpRequest.newBuilder(URI.create(binaryUrl))
+                .header("Range", "bytes=-" + rangeLength)
+                .build(), "Last " + rangeLength + " bytes");
+        Download conditionalDownload = download(httpClient, HttpRequest.newBuilder(URI.create(binaryUrl))
+                .header("If-None-Match", fullDownload.etag)
+                .build(), "If-None-Match");
+
+        boolean success = true;
+        if (fullDownload.status != 200 || fullDownload.length != fileSize || !fullDownload.sha1.equals(checksum)) {
+            System.err.println("Full content does not match the attachment " + checksum);
+            success = false;
+        }
+        if (rangeDownload.status != 206 || rangeDownload.length != rangeLength
+                || !rangeDownload.contentRange.equals("bytes " + (fileSize - rangeLength) + "-" + (fileSize - 1) + "/" + fileSize)) {
+            System.err.println("Unexpected range response " + rangeDownload.status + " " + rangeDownload.contentRange);
+            success = false;
+        }
+        if (conditionalDownload.status != 304) {
+            System.err.println("Unexpected conditional response " + conditionalDownload.status);
+            success = false;
+        }
+        System.out.println(success ? "Contents match the attachment" : "Checks failed");
+        return success;
+    }
+
+    private static Download download(HttpClient httpClient, HttpRequest request, String label) throws IOException, InterruptedException {
+        Map<Long, Long> allocatedBytesBefore = getProxyThreadsAllocatedBytes();
+        long startNanos = System.nanoTime();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        Download download = new Download();
+        download.status = response.statusCode();
+        download.etag = response.headers().firstValue("ETag").orElse(null);
+        download.contentRange = response.headers().firstValue("Content-Range").orElse("");
+        MessageDigest digest = createSha1Digest();
+        byte[] buffer = new byte[16384];
+        try (InputStream body = response.body()) {
+            int readLength;
+            while ((readLength = body.read(buffer)) >= 0) {
+                digest.update(buffer, 0, readLength);
+                download.length += readLength;
+            }
+        }
+        download.sha1 = toHex(digest.digest());
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        Map<Long, Long> allocatedBytesAfter = getProxyThreadsAllocatedBytes();
+        long allocatedBytes = allocatedBytesAfter.entrySet().stream()
+                .mapToLong(e -> e.getValue() - allocatedBytesBefore.getOrDefault(e.getKey(), 0L))
+                .sum();
+        if (!label.equals("Warm up")) {
+            System.out.println(String.format("%s: status %d, %.1f MB received in %dms, %.1f MB allocated by the proxy threads",
+                    label, download.status, download.length / 1048576d, durationMillis, allocatedBytes / 1048576d));
+        }
+        return download;
+    }
+
+    /**
+     * Request, read batch and prefetch threads of the proxy and client, by thread id.
+     */
+    private static Map<Long, Long> getProxyThreadsAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocatedBytes = new HashMap<>();
+        Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("odoo-") && !thread.getName().startsWith("odoo-stub"))
+                .forEach(thread -> Optional.of(threadBean.getThreadAllocatedBytes(thread.getId()))
+                        .filter(bytes -> bytes >= 0)
+                        .ifPresent(bytes -> allocatedBytes.put(thread.getId(), bytes)));
+        return allocatedBytes;
+    }
+
+    private static MessageDigest createSha1Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte value : bytes) {
+            hex.append(Character.forDigit((value >> 4) & 0xF, 16))
+                    .append(Character.forDigit(value & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static class Download {
+        private int status;
+        private long length;
+        private String sha1;
+        private String etag;
+        private String contentRange;
+    }
+}
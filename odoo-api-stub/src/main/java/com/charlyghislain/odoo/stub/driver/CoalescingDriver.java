@@ -0,0 +1,88 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooModelClient;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * Checks that concurrent identical reads are coalesced, and that concurrent single record reads are batched, by
+ * counting the read calls received by a slow stub. Exits with status 1 on failure.
+ * <p>
+ * System properties: driver.concurrency (50), stub.latencyMillis (200).
+ */
+public class CoalescingDriver {
+
+    public static void main(String[] args) throws IOException {
+        int concurrency = DriverSupport.getIntProperty("driver.concurrency", 50);
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setFaultRate(0);
+        if (System.getProperty("stub.latencyMillis") == null) {
+            stubConfig.setLatency(Duration.ofMillis(200));
+        }
+
+        boolean success;
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            success = checkReadCalls(stubServer, concurrency);
+        }
+        System.out.println(success ? "OK" : "FAILED");
+        System.exit(success ? 0 : 1);
+    }
+
+    private static boolean checkReadCalls(StubOdooServer stubServer, int concurrency) {
+        try (OdooClient odooClient = new OdooClient(DriverSupport.createClientConfig(stubServer))) {
+            OdooModelClient modelClient = odooClient.getModelClient(StubDataset.MODEL_NAME_PREFIX + 0);
+            // Authenticate and fetch the fields beforehand
+            modelClient.getFields();
+
+            long identicalReadCalls = countReadCalls(stubServer, concurrency,
+                    index -> () -> modelClient.read(List.of(1), List.of("id", "display_name")));
+            System.out.println(concurrency + " identical concurrent reads: " + identicalReadCalls + " read call(s)");
+
+            long batchedReadCalls = countReadCalls(stubServer, concurrency,
+                    index -> () -> modelClient.readBatched(index + 1, List.of("id", "display_name")));
+            System.out.println(concurrency + " concurrent single record reads: " + batchedReadCalls + " read call(s)");
+
+            return identicalReadCalls == 1 && batchedReadCalls < concurrency;
+        }
+    }
+
+    private static long countReadCalls(StubOdooServer stubServer, int concurrency, IntFunction<ReadTask> taskFactory) {
+        stubServer.getService().resetCallCounts();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int index = 0; index < concurrency; index++) {
+                ReadTask readTask = taskFactory.apply(index);
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return readTask.read();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor));
+            }
+            results.forEach(CompletableFuture::join);
+        } finally {
+            executor.shutdown();
+        }
+        return stubServer.getService().getCallCount("read");
+    }
+
+    @FunctionalInterface
+    private interface ReadTask {
+        Object read() throws Exception;
+    }
+}
@@ -0,0 +1,41 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.metrics.LatencyHistogram;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+class DriverSupport {
+
+    static OdooClientConfig createClientConfig(StubOdooServer stubServer) {
+        OdooClientConfig clientConfig = new OdooClientConfig();
+        clientConfig.setApiURl(stubServer.getUrl());
+        clientConfig.setApiDb("stub");
+        clientConfig.setApiUser("admin");
+        clientConfig.setApiPassword("admin");
+        return clientConfig;
+    }
+
+    static int getIntProperty(String name, int defaultValue) {
+        return Optional.ofNullable(System.getProperty(name))
+                .map(Integer::parseInt)
+                .orElse(defaultValue);
+    }
+
+    static List<Integer> getIntListProperty(String name, String defaultValue) {
+        return Arrays.stream(System.getProperty(name, defaultValue).split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+    }
+
+    static String formatLatencies(LatencyHistogram histogram) {
+        return String.format("p50 %.1fms, p90 %.1fms, p99 %.1fms, max %.1fms",
+                histogram.getPercentileMicros(50) / 1000d, histogram.getPercentileMicros(90) / 1000d,
+                histogram.getPercentileMicros(99) / 1000d, histogram.getMaxMicros() / 1000d);
+    }
+}
@@ -0,0 +1,56 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.OpenApiModelGenerator;
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Times spec generation against the stub for several fields_get parallelism levels.
+ * <p>
+ * System properties: driver.models (1000), driver.parallelism (1,4,16), stub.latencyMillis (20), and the other
+ * stub.* properties.
+ */
+public class GeneratorTimingDriver {
+
+    public static void main(String[] args) throws IOException, XmlRpcException {
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(DriverSupport.getIntProperty("driver.models", 1000));
+        if (System.getProperty("stub.latencyMillis") == null) {
+            stubConfig.setLatency(Duration.ofMillis(20));
+        }
+        List<Integer> parallelismLevels = DriverSupport.getIntListProperty("driver.parallelism", "1,4,16");
+
+        PrintStream systemOut = System.out;
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            for (int parallelism : parallelismLevels) {
+                stubServer.getService().resetCallCounts();
+                long startNanos = System.nanoTime();
+                OpenAPI openApi;
+                // The generator logs every model
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                try (OdooClient odooClient = new OdooClient(DriverSupport.createClientConfig(stubServer))) {
+                    OpenApiModelGenerator modelGenerator = new OpenApiModelGenerator(odooClient);
+                    modelGenerator.setFieldsFetchParallelism(parallelism);
+                    openApi = modelGenerator.createOpenApiModel();
+                } finally {
+                    System.setOut(systemOut);
+                }
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+                System.out.println(String.format("parallelism %3d: %d schemas in %d ms, %s",
+                        parallelism, openApi.getComponents().getSchemas().size(), elapsed.toMillis(),
+                        stubServer.getService().getCallCounts()));
+            }
+        }
+    }
+}
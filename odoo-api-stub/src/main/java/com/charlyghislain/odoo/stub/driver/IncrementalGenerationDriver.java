@@ -0,0 +1,125 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.OpenApiModelGenerator;
+import com.charlyghislain.odoo.OpenApiSpecFormat;
+import com.charlyghislain.odoo.OpenApiSpecSnapshot;
+import com.charlyghislain.odoo.OpenApiSpecWriter;
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.fields.FieldModel;
+import com.charlyghislain.odoo.client.fields.OdooFieldType;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Times a full generation, then incremental ones with the snapshot of the previous run: without changes, after
+ * the schema of a few models was updated, and after a field of the snapshot was removed. Exits with status 1 when the
+ * spec without changes differs from the full one, when the updated labels are missing from it, or when it still has
+ * the removed field.
+ * <p>
+ * System properties: driver.models (1000), driver.updatedModels (3), stub.latencyMillis (20), and the other stub.*
+ * properties.
+ */
+public class IncrementalGenerationDriver {
+
+    private static final String REMOVED_FIELD_NAME = "x_removed";
+
+    public static void main(String[] args) throws IOException, XmlRpcException {
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(DriverSupport.getIntProperty("driver.models", 1000));
+        if (System.getProperty("stub.latencyMillis") == null) {
+            stubConfig.setLatency(Duration.ofMillis(20));
+        }
+        int updatedModelCount = DriverSupport.getIntProperty("driver.updatedModels", 3);
+        Path snapshotFile = Files.createTempFile("openapi-snapshot", ".json");
+
+        boolean success;
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            OpenAPI fullOpenApi = generate(stubServer, "full", snapshotFile, false);
+            OpenAPI unchangedOpenApi = generate(stubServer, "unchanged", snapshotFile, true);
+            boolean sameSpec = Arrays.equals(serialize(fullOpenApi), serialize(unchangedOpenApi));
+            System.out.println("Unchanged spec identical to the full one: " + sameSpec);
+
+            StubDataset dataset = stubServer.getService().getDataset();
+            for (int modelIndex = 0; modelIndex < updatedModelCount; modelIndex++) {
+                dataset.updateModelSchema(modelIndex);
+            }
+            OpenAPI openApi = generate(stubServer, updatedModelCount + " updated", snapshotFile, true);
+            Schema<?> updatedSchema = openApi.getComponents().getSchemas().get(StubDataset.MODEL_NAME_PREFIX + 0);
+            boolean updatedLabels = updatedSchema.getProperties().values().stream()
+                    .allMatch(fieldSchema -> fieldSchema.getTitle().endsWith("(v1)"));
+
+            // Odoo leaves no newer write date when a field is deleted, as for a snapshot field it never had
+            String removedFieldModelName = StubDataset.MODEL_NAME_PREFIX + (stubConfig.getModelCount() - 1);
+            addSnapshotField(snapshotFile, removedFieldModelName, REMOVED_FIELD_NAME);
+            OpenAPI removedFieldOpenApi = generate(stubServer, "1 removed", snapshotFile, true);
+            boolean removedFieldLeftOut = !removedFieldOpenApi.getComponents().getSchemas().get(removedFieldModelName)
+                    .getProperties().containsKey(REMOVED_FIELD_NAME);
+            System.out.println("Removed field left out of the spec: " + removedFieldLeftOut);
+            success = sameSpec && updatedLabels && removedFieldLeftOut;
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+        System.out.println(success ? "OK" : "FAILED");
+        System.exit(success ? 0 : 1);
+    }
+
+    private static void addSnapshotField(Path snapshotFile, String modelName, String fieldName) throws IOException {
+        OpenApiSpecSnapshot snapshot = OpenApiSpecSnapshot.read(snapshotFile);
+        OpenApiSpecSnapshot.SnapshotModel snapshotModel = snapshot.getModels().get(modelName);
+        FieldModel fieldModel = new FieldModel();
+        fieldModel.setName(fieldName);
+        fieldModel.setType(OdooFieldType.CHAR);
+        fieldModel.setLabel("Removed");
+        Map<String, FieldModel> fields = new HashMap<>(snapshotModel.getFields());
+        fields.put(fieldName, fieldModel);
+        snapshotModel.setFields(fields);
+        snapshot.write(snapshotFile);
+    }
+
+    private static byte[] serialize(OpenAPI openApi) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new OpenApiSpecWriter(OpenApiSpecFormat.YAML).write(openApi, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static OpenAPI generate(StubOdooServer stubServer, String runName, Path snapshotFile, boolean incremental)
+            throws IOException, XmlRpcException {
+        stubServer.getService().resetCallCounts();
+        OpenApiSpecSnapshot previousSnapshot = incremental ? OpenApiSpecSnapshot.read(snapshotFile) : null;
+        long startNanos = System.nanoTime();
+        OpenAPI openApi;
+        PrintStream systemOut = System.out;
+        // The generator logs every model
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try (OdooClient odooClient = new OdooClient(DriverSupport.createClientConfig(stubServer))) {
+            OpenApiModelGenerator modelGenerator = new OpenApiModelGenerator(odooClient);
+            // The stub runs on the same clock
+            modelGenerator.setSnapshotDateMargin(Duration.ZERO);
+            openApi = modelGenerator.createOpenApiModel(previousSnapshot);
+            modelGenerator.getSnapshot().write(snapshotFile);
+        } finally {
+            System.setOut(systemOut);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        System.out.println(String.format("%-10s: %d schemas in %d ms, %s", runName,
+                openApi.getComponents().getSchemas().size(), elapsed.toMillis(), stubServer.getService().getCallCounts()));
+        return openApi;
+    }
+}
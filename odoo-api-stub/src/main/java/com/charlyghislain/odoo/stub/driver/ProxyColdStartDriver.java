@@ -0,0 +1,94 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.metrics.LatencyHistogram;
+import com.charlyghislain.odoo.proxy.OdooProxyConfig;
+import com.charlyghislain.odoo.proxy.OdooProxyServer;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Starts the proxy twice against the stub, without and with a metadata snapshot, and reads a record of each model
+ * right after start.
+ * <p>
+ * System properties: driver.models (500), stub.latencyMillis (20), stub.fieldsPerModel and the proxy.* properties of
+ * the proxy server.
+ */
+public class ProxyColdStartDriver {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int modelCount = DriverSupport.getIntProperty("driver.models", 500);
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(Math.max(stubConfig.getModelCount(), modelCount));
+        stubConfig.setRecordsPerModel(10);
+        if (System.getProperty("stub.latencyMillis") == null) {
+            stubConfig.setLatency(Duration.ofMillis(20));
+        }
+        Path snapshotFile = Files.createTempFile("odoo-proxy-snapshot", ".bin");
+        Files.delete(snapshotFile);
+
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            runProxy(stubServer, snapshotFile, modelCount, "Without snapshot");
+            System.out.println(String.format("Snapshot size: %.1f kB", Files.size(snapshotFile) / 1024d));
+            runProxy(stubServer, snapshotFile, modelCount, "With snapshot");
+        } finally {
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    private static void runProxy(StubOdooServer stubServer, Path snapshotFile, int modelCount, String label)
+            throws IOException, InterruptedException {
+        OdooProxyConfig proxyConfig = OdooProxyServer.createConfigFromSystemProperties();
+        proxyConfig.setPort(0);
+        proxyConfig.setMetadataSnapshotFile(snapshotFile);
+        OdooClientConfig clientConfig = DriverSupport.createClientConfig(stubServer);
+        stubServer.getService().resetCallCounts();
+
+        long startNanos = System.nanoTime();
+        try (OdooClient odooClient = new OdooClient(clientConfig);
+             OdooProxyServer proxyServer = new OdooProxyServer(odooClient, proxyConfig)) {
+            proxyServer.start();
+            System.out.println(String.format("%s: started in %dms", label, (System.nanoTime() - startNanos) / 1_000_000));
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            readModels(httpClient, proxyServer.getPort(), modelCount, label + ", first reads");
+            readModels(httpClient, proxyServer.getPort(), modelCount, label + ", second reads");
+        }
+        System.out.println("Odoo stub calls: " + stubServer.getService().getCallCounts());
+    }
+
+    private static void readModels(HttpClient httpClient, int proxyPort, int modelCount, String label)
+            throws IOException, InterruptedException {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        int failureCount = 0;
+        long startNanos = System.nanoTime();
+        for (int modelIndex = 0; modelIndex < modelCount; modelIndex++) {
+            String modelName = StubDataset.MODEL_NAME_PREFIX + modelIndex;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + proxyPort + "/model/" + modelName + "/1"))
+                    .GET()
+                    .build();
+            long requestStartNanos = System.nanoTime();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            latencyHistogram.record((System.nanoTime() - requestStartNanos) / 1000);
+            if (response.statusCode() != 200) {
+                failureCount++;
+            }
+        }
+        System.out.println(String.format("%s of %d models in %dms, %d failures, %s", label, modelCount,
+                (System.nanoTime() - startNanos) / 1_000_000, failureCount, DriverSupport.formatLatencies(latencyHistogram)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.metrics.LatencyHistogram;
+import com.charlyghislain.odoo.proxy.OdooProxyConfig;
+import com.charlyghislain.odoo.proxy.OdooProxyServer;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the proxy against the stub and sends concurrent record reads through it.
+ * <p>
+ * System properties: driver.clients (64), driver.durationSeconds (20), driver.models (10), driver.ids (1000),
+ * stub.latencyMillis (20), the stub.* properties and the proxy.* properties of the proxy server.
+ */
+public class ProxyLoadDriver {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int clientCount = DriverSupport.getIntProperty("driver.clients", 64);
+        int durationSeconds = DriverSupport.getIntProperty("driver.durationSeconds", 20);
+        int modelCount = DriverSupport.getIntProperty("driver.models", 10);
+        int idCount = DriverSupport.getIntProperty("driver.ids", 1000);
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(Math.max(stubConfig.getModelCount(), modelCount));
+        stubConfig.setRecordsPerModel(Math.max(stubConfig.getRecordsPerModel(), idCount));
+        if (System.getProperty("stub.latencyMillis") == null) {
+            stubConfig.setLatency(Duration.ofMillis(20));
+        }
+
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            OdooProxyConfig proxyConfig = OdooProxyServer.createConfigFromSystemProperties();
+            proxyConfig.setPort(0);
+            OdooClientConfig clientConfig = DriverSupport.createClientConfig(stubServer);
+            clientConfig.setHttpMaxConnections(proxyConfig.getMaxThreads());
+            clientConfig.setHttpMaxConnectionsPerHost(proxyConfig.getMaxThreads());
+            try (OdooClient odooClient = new OdooClient(clientConfig);
+                 OdooProxyServer proxyServer = new OdooProxyServer(odooClient, proxyConfig)) {
+                proxyServer.start();
+                runLoad(stubServer, "http://localhost:" + proxyServer.getPort(), clientCount, durationSeconds, modelCount, idCount);
+            }
+        }
+    }
+
+    private static void runLoad(StubOdooServer stubServer, String proxyUrl, int clientCount, int durationSeconds,
+                                int modelCount, int idCount) throws InterruptedException {
+        ExecutorService httpClientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(httpClientExecutor)
+                .build();
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder failureCount = new LongAdder();
+        long endNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(clientCount);
+        for (int clientIndex = 0; clientIndex < clientCount; clientIndex++) {
+            clientExecutor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < endNanos) {
+                    String modelName = StubDataset.MODEL_NAME_PREFIX + random.nextInt(modelCount);
+                    int id = random.nextInt(idCount) + 1;
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(proxyUrl + "/model/" + modelName + "/" + id))
+                            .GET()
+                            .build();
+                    long startNanos = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencyHistogram.record((System.nanoTime() - startNanos) / 1000);
+                        statusCounts.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                    } catch (IOException e) {
+                        failureCount.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        clientExecutor.shutdown();
+        clientExecutor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        httpClientExecutor.shutdown();
+
+        Map<Integer, Long> statusCountSums = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statusCountSums.put(status, count.sum()));
+        System.out.println(String.format("%d requests in %ds, %.1f requests/s", latencyHistogram.getCount(),
+                durationSeconds, latencyHistogram.getCount() / (double) durationSeconds));
+        System.out.println("Latencies: " + DriverSupport.formatLatencies(latencyHistogram));
+        System.out.println("Status counts: " + statusCountSums + ", io failures: " + failureCount.sum());
+        System.out.println("Odoo stub calls: " + stubServer.getService().getCallCounts());
+    }
+}
@@ -0,0 +1,80 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the heap retained by the field definitions of all the stub models, with and without interning.
+ * <p>
+ * System properties: driver.models (2000), and the stub.* properties.
+ */
+public class SchemaFootprintDriver {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(DriverSupport.getIntProperty("driver.models", 2000));
+
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            // Fills the stub fields_get responses, and loads the client classes
+            loadFields(stubServer, stubConfig.getModelCount(), false).close();
+
+            for (boolean internFieldMetadata : new boolean[]{false, true}) {
+                long usedBytesBefore = getUsedHeapBytes();
+                try (OdooClient odooClient = loadFields(stubServer, stubConfig.getModelCount(), internFieldMetadata)) {
+                    long retainedBytes = getUsedHeapBytes() - usedBytesBefore;
+                    long fieldCount = countFields(odooClient, stubConfig.getModelCount());
+                    System.out.println(String.format("interning %-5s: %d models, %d fields, %.1f MB retained, %d bytes per field, %d interned strings, %d interned lists",
+                            internFieldMetadata, stubConfig.getModelCount(), fieldCount, retainedBytes / (1024d * 1024d),
+                            retainedBytes / fieldCount, odooClient.getFieldMetadataInterner().getStringCount(),
+                            odooClient.getFieldMetadataInterner().getListCount()));
+                }
+            }
+        }
+    }
+
+    private static OdooClient loadFields(StubOdooServer stubServer, int modelCount, boolean internFieldMetadata) throws InterruptedException {
+        OdooClientConfig clientConfig = DriverSupport.createClientConfig(stubServer);
+        clientConfig.setInternFieldMetadata(internFieldMetadata);
+        clientConfig.setModelClientCacheSize(modelCount);
+        clientConfig.setCallMetricsEnabled(false);
+        OdooClient odooClient = new OdooClient(clientConfig);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int modelIndex = 0; modelIndex < modelCount; modelIndex++) {
+            String modelName = StubDataset.MODEL_NAME_PREFIX + modelIndex;
+            executor.submit(() -> odooClient.getModelClient(modelName).getFields());
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        return odooClient;
+    }
+
+    private static long countFields(OdooClient odooClient, int modelCount) {
+        long fieldCount = 0;
+        for (int modelIndex = 0; modelIndex < modelCount; modelIndex++) {
+            fieldCount += odooClient.getModelClient(StubDataset.MODEL_NAME_PREFIX + modelIndex).getFields().size();
+        }
+        return fieldCount;
+    }
+
+    private static long getUsedHeapBytes() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long usedBytes = Long.MAX_VALUE;
+        // Keep the lowest value of a few collections
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            usedBytes = Math.min(usedBytes, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return usedBytes;
+    }
+}
@@ -0,0 +1,92 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.metrics.LatencyHistogram;
+import com.charlyghislain.odoo.proxy.OdooProxyConfig;
+import com.charlyghislain.odoo.proxy.OdooProxyServer;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+
+/**
+ * Reads and lists records through the proxy with the default fields, all the fields and a few selected fields, and
+ * compares the response sizes and latencies. The record cache is disabled.
+ * <p>
+ * System properties: driver.requests (500), driver.models (10), stub.binaryFieldBytes (65536), the stub.* properties
+ * and the proxy.* properties of the proxy server.
+ */
+public class SparseFieldsDriver {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int requestCount = DriverSupport.getIntProperty("driver.requests", 500);
+        int modelCount = DriverSupport.getIntProperty("driver.models", 10);
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(Math.max(stubConfig.getModelCount(), modelCount));
+        if (System.getProperty("stub.binaryFieldBytes") == null) {
+            stubConfig.setBinaryFieldSize(65536);
+        }
+
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            OdooProxyConfig proxyConfig = OdooProxyServer.createConfigFromSystemProperties();
+            proxyConfig.setPort(0);
+            proxyConfig.setRecordCacheSize(0);
+            OdooClientConfig clientConfig = DriverSupport.createClientConfig(stubServer);
+            try (OdooClient odooClient = new OdooClient(clientConfig);
+                 OdooProxyServer proxyServer = new OdooProxyServer(odooClient, proxyConfig)) {
+                proxyServer.start();
+                String proxyUrl = "http://localhost:" + proxyServer.getPort();
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build();
+                // Loads the field definitions, and warms up both sides
+                runRequests(httpClient, proxyUrl, modelCount, requestCount, "/1", "?fields=*", null);
+
+                String[] selections = {"?fields=*", "", "?fields=id,display_name"};
+                for (String selection : selections) {
+                    String label = selection.isEmpty() ? "default fields" : selection;
+                    runRequests(httpClient, proxyUrl, modelCount, requestCount, "/{id}", selection, "Read, " + label);
+                }
+                for (String selection : selections) {
+                    String label = selection.isEmpty() ? "default fields" : selection;
+                    runRequests(httpClient, proxyUrl, modelCount, requestCount / 10, "", selection, "List of 80, " + label);
+                }
+            }
+        }
+    }
+
+    private static void runRequests(HttpClient httpClient, String proxyUrl, int modelCount, int requestCount,
+                                    String pathSuffix, String query, String label) throws IOException, InterruptedException {
+        Random random = new Random(requestCount);
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        long responseBytes = 0;
+        int failureCount = 0;
+        for (int requestIndex = 0; requestIndex < requestCount; requestIndex++) {
+            String modelName = StubDataset.MODEL_NAME_PREFIX + random.nextInt(modelCount);
+            String path = pathSuffix.replace("{id}", String.valueOf(1 + random.nextInt(1000)));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(proxyUrl + "/model/" + modelName + path + query))
+                    .GET()
+                    .build();
+            long startNanos = System.nanoTime();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            latencyHistogram.record((System.nanoTime() - startNanos) / 1000);
+            responseBytes += response.body().length;
+            if (response.statusCode() != 200) {
+                failureCount++;
+            }
+        }
+        if (label != null) {
+            System.out.println(String.format("%s: %.2f kB per response, %d failures, %s", label,
+                    responseBytes / 1024d / requestCount, failureCount, DriverSupport.formatLatencies(latencyHistogram)));
+        }
+    }
+}
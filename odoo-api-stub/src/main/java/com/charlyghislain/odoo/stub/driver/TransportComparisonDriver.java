@@ -0,0 +1,74 @@
+package com.charlyghislain.odoo.stub.driver;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.OdooModelClient;
+import com.charlyghislain.odoo.client.transport.OdooTransportProtocol;
+import com.charlyghislain.odoo.stub.StubDataset;
+import com.charlyghislain.odoo.stub.StubOdooConfig;
+import com.charlyghislain.odoo.stub.StubOdooServer;
+import org.apache.xmlrpc.XmlRpcException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the protocols, compression and response streaming by reading the same records through each of them.
+ * <p>
+ * System properties: driver.records (100000), driver.pageSize (1000), and the stub.* properties.
+ */
+public class TransportComparisonDriver {
+
+    public static void main(String[] args) throws IOException, XmlRpcException {
+        int recordCount = DriverSupport.getIntProperty("driver.records", 100000);
+        int pageSize = DriverSupport.getIntProperty("driver.pageSize", 1000);
+        StubOdooConfig stubConfig = StubOdooServer.createConfigFromSystemProperties();
+        stubConfig.setPort(0);
+        stubConfig.setRecordsPerModel(Math.max(stubConfig.getRecordsPerModel(), recordCount));
+
+        try (StubOdooServer stubServer = new StubOdooServer(stubConfig)) {
+            stubServer.start();
+            // Warm up the stub and the client code paths once
+            runReads(stubServer, OdooTransportProtocol.XML_RPC, false, false, pageSize, pageSize * 10);
+
+            for (OdooTransportProtocol protocol : OdooTransportProtocol.values()) {
+                for (boolean gzip : new boolean[]{false, true}) {
+                    for (boolean streaming : new boolean[]{false, true}) {
+                        long bytesSentBefore = stubServer.getBytesSent().sum();
+                        long bytesReceivedBefore = stubServer.getBytesReceived().sum();
+                        long startNanos = System.nanoTime();
+                        runReads(stubServer, protocol, gzip, streaming, pageSize, recordCount);
+                        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                        System.out.println(String.format("%-8s gzip %-5s streaming %-5s: %6d ms, %8.1f records/s, %10d bytes received, %10d bytes sent",
+                                protocol, gzip, streaming, elapsedMillis, recordCount * 1000d / Math.max(1, elapsedMillis),
+                                stubServer.getBytesSent().sum() - bytesSentBefore,
+                                stubServer.getBytesReceived().sum() - bytesReceivedBefore));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void runReads(StubOdooServer stubServer, OdooTransportProtocol protocol, boolean gzip, boolean streaming,
+                                 int pageSize, int recordCount) throws XmlRpcException {
+        OdooClientConfig clientConfig = DriverSupport.createClientConfig(stubServer);
+        clientConfig.setProtocol(protocol);
+        clientConfig.setGzipResponses(gzip);
+        clientConfig.setGzipRequests(gzip);
+        try (OdooClient odooClient = new OdooClient(clientConfig)) {
+            OdooModelClient modelClient = odooClient.getModelClient(StubDataset.MODEL_NAME_PREFIX + 0);
+            LongAdder readCount = new LongAdder();
+            for (int offset = 0; offset < recordCount; offset += pageSize) {
+                if (streaming) {
+                    modelClient.searchRead(List.of(List.of()), offset, pageSize, List.of(), record -> readCount.increment());
+                } else {
+                    readCount.add(modelClient.searchRead(List.of(List.of()), offset, pageSize, List.of()).size());
+                }
+            }
+            if (readCount.sum() != recordCount) {
+                throw new IllegalStateException("Read " + readCount.sum() + " records instead of " + recordCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.charlyghislain.odoo.stub;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.OdooModelClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ModelClientRegistryTest {
+
+    private static final int CACHE_SIZE = 2;
+
+    private OdooClient odooClient;
+
+    @BeforeEach
+    void createClient() {
+        OdooClientConfig clientConfig = new OdooClientConfig();
+        // Model clients are created without calling odoo
+        clientConfig.setApiURl("http://localhost:1");
+        clientConfig.setModelClientCacheSize(CACHE_SIZE);
+        odooClient = new OdooClient(clientConfig);
+    }
+
+    @AfterEach
+    void closeClient() {
+        odooClient.close();
+    }
+
+    @Test
+    void sharesTheClientOfAModel() {
+        OdooModelClient modelClient = odooClient.getModelClient("res.partner");
+        assertSame(modelClient, odooClient.getModelClient("res.partner"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedClient() throws InterruptedException {
+        OdooModelClient partnerClient = odooClient.getModelClient("res.partner");
+        OdooModelClient userClient = odooClient.getModelClient("res.users");
+        // Access times are taken from the nano clock
+        Thread.sleep(1);
+        odooClient.getModelClient("res.partner");
+        odooClient.getModelClient("res.company");
+
+        assertSame(partnerClient, odooClient.getModelClient("res.partner"));
+        assertNotSame(userClient, odooClient.getModelClient("res.users"));
+    }
+}
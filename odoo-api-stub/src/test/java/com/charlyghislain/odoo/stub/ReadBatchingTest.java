@@ -0,0 +1,103 @@
+package com.charlyghislain.odoo.stub;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.OdooModelClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReadBatchingTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final int RECORD_COUNT = 100;
+    private static final int MISSING_ID = RECORD_COUNT + 1;
+    private static final List<String> READ_FIELDS = List.of("id", "display_name");
+    // A full batch is sent right away, the window never expires during a test
+    private static final List<Integer> BATCH_IDS = List.of(1, MISSING_ID, 2);
+
+    private StubOdooServer stubServer;
+    private OdooClient odooClient;
+    private final ExecutorService callerExecutor = Executors.newFixedThreadPool(BATCH_IDS.size());
+
+    @AfterEach
+    void stopStub() {
+        callerExecutor.shutdownNow();
+        odooClient.close();
+        stubServer.close();
+    }
+
+    @Test
+    void missingRecordIsNullWithoutBatching() throws Exception {
+        OdooModelClient modelClient = startStub(0, Duration.ZERO);
+
+        assertNull(modelClient.readBatched(MISSING_ID, READ_FIELDS));
+        assertNotNull(modelClient.readBatched(1, READ_FIELDS));
+    }
+
+    @Test
+    void missingRecordIsNullInABatch() throws Exception {
+        OdooModelClient modelClient = startStub(0, Duration.ofSeconds(TIMEOUT_SECONDS));
+
+        List<Future<Map<Object, Object>>> results = readBatch(modelClient);
+        assertNotNull(results.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertNull(results.get(1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertNotNull(results.get(2).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        // The batch read, then one read per id
+        assertEquals(1 + BATCH_IDS.size(), stubServer.getService().getCallCount("read"));
+    }
+
+    @Test
+    void serverErrorFailsTheBatchWithoutSingleReads() throws Exception {
+        OdooModelClient modelClient = startStub(1, Duration.ofSeconds(TIMEOUT_SECONDS));
+
+        List<Future<Map<Object, Object>>> results = readBatch(modelClient);
+        for (Future<Map<Object, Object>> result : results) {
+            assertThrows(ExecutionException.class, () -> result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertEquals(1, stubServer.getService().getCallCount("read"));
+    }
+
+    private OdooModelClient startStub(double faultRate, Duration readBatchWindow) throws IOException {
+        StubOdooConfig stubConfig = new StubOdooConfig();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(1);
+        stubConfig.setRecordsPerModel(RECORD_COUNT);
+        stubConfig.setFaultRate(faultRate);
+        stubServer = new StubOdooServer(stubConfig);
+        stubServer.start();
+
+        OdooClientConfig clientConfig = new OdooClientConfig();
+        clientConfig.setApiURl(stubServer.getUrl());
+        clientConfig.setApiDb("stub");
+        clientConfig.setApiUser("admin");
+        clientConfig.setApiPassword("admin");
+        clientConfig.setReadBatchWindow(readBatchWindow);
+        clientConfig.setReadBatchMaxSize(BATCH_IDS.size());
+        odooClient = new OdooClient(clientConfig);
+        return odooClient.getModelClient(StubDataset.MODEL_NAME_PREFIX + 0);
+    }
+
+    private List<Future<Map<Object, Object>>> readBatch(OdooModelClient modelClient) {
+        List<Future<Map<Object, Object>>> results = new ArrayList<>();
+        for (int id : BATCH_IDS) {
+            results.add(callerExecutor.submit(() -> modelClient.readBatched(id, READ_FIELDS)));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,130 @@
+package com.charlyghislain.odoo.stub;
+
+import com.charlyghislain.odoo.client.OdooClient;
+import com.charlyghislain.odoo.client.OdooClientConfig;
+import com.charlyghislain.odoo.client.OdooModelClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ReadCallCoalescingTest {
+
+    private static final int CALLER_COUNT = 20;
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final List<Integer> READ_IDS = List.of(1);
+    private static final List<String> READ_FIELDS = List.of("id", "display_name");
+
+    private StubOdooServer stubServer;
+    private OdooClient odooClient;
+    private OdooModelClient modelClient;
+    private ExecutorService callerExecutor;
+    // Counted down once the first read call reached the stub, which holds it until released
+    private final CountDownLatch firstReadReceived = new CountDownLatch(1);
+    private final CountDownLatch firstReadReleased = new CountDownLatch(1);
+
+    @BeforeEach
+    void startStub() throws IOException {
+        StubOdooConfig stubConfig = new StubOdooConfig();
+        stubConfig.setPort(0);
+        stubConfig.setModelCount(1);
+        stubConfig.setRecordsPerModel(100);
+        stubServer = new StubOdooServer(stubConfig);
+        stubServer.start();
+
+        OdooClientConfig clientConfig = new OdooClientConfig();
+        clientConfig.setApiURl(stubServer.getUrl());
+        clientConfig.setApiDb("stub");
+        clientConfig.setApiUser("admin");
+        clientConfig.setApiPassword("admin");
+        odooClient = new OdooClient(clientConfig);
+        modelClient = odooClient.getModelClient(StubDataset.MODEL_NAME_PREFIX + 0);
+        // Authenticate and fetch the fields beforehand
+        modelClient.getFields();
+        callerExecutor = Executors.newFixedThreadPool(CALLER_COUNT);
+
+        AtomicBoolean firstReadHeld = new AtomicBoolean();
+        stubServer.getService().resetCallCounts();
+        stubServer.getService().setCallListener(method -> {
+            if ("read".equals(method) && firstReadHeld.compareAndSet(false, true)) {
+                firstReadReceived.countDown();
+                awaitLatch(firstReadReleased);
+            }
+        });
+    }
+
+    @AfterEach
+    void stopStub() {
+        firstReadReleased.countDown();
+        callerExecutor.shutdownNow();
+        odooClient.close();
+        stubServer.close();
+    }
+
+    @Test
+    void concurrentIdenticalReadsMakeASingleCall() throws Exception {
+        List<Future<List<Object>>> results = new ArrayList<>();
+        for (int callerIndex = 0; callerIndex < CALLER_COUNT; callerIndex++) {
+            results.add(callerExecutor.submit(() -> modelClient.read(READ_IDS, READ_FIELDS)));
+        }
+        assertTrue(firstReadReceived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        awaitWaitingCallers(CALLER_COUNT - 1);
+        firstReadReleased.countDown();
+
+        for (Future<List<Object>> result : results) {
+            assertEquals(1, result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+        }
+        assertEquals(1, stubServer.getService().getCallCount("read"));
+    }
+
+    @Test
+    void readAfterWriteDoesNotJoinEarlierRead() throws Exception {
+        Future<List<Object>> earlierRead = callerExecutor.submit(() -> modelClient.read(READ_IDS, READ_FIELDS));
+        assertTrue(firstReadReceived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertTrue(modelClient.write(1, Map.of("name", "Updated")));
+        // Completes while the earlier read is still held by the stub
+        List<Object> laterRecords = callerExecutor.submit(() -> modelClient.read(READ_IDS, READ_FIELDS))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(1, laterRecords.size());
+        assertFalse(earlierRead.isDone());
+
+        firstReadReleased.countDown();
+        assertEquals(1, earlierRead.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+        assertEquals(2, stubServer.getService().getCallCount("read"));
+    }
+
+    private void awaitWaitingCallers(int callerCount) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (odooClient.getCallCoalescer().getWaitingCount() < callerCount) {
+            if (System.nanoTime() > deadlineNanos) {
+                fail(odooClient.getCallCoalescer().getWaitingCount() + " callers waiting for the first read, expected " + callerCount
+                        + ", " + stubServer.getService().getCallCount("read") + " read calls received");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}